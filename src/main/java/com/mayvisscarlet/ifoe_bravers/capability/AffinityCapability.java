@@ -2,6 +2,8 @@ package com.mayvisscarlet.ifoe_bravers.capability;
 
 import com.mayvisscarlet.ifoe_bravers.ifoe_bravers;
 import com.mayvisscarlet.ifoe_bravers.growth.AffinityData;
+import com.mayvisscarlet.ifoe_bravers.growth.AffinityLeaderboard;
+import com.mayvisscarlet.ifoe_bravers.race.RaceManager;
 import net.minecraft.core.Direction;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.resources.ResourceLocation;
@@ -11,17 +13,13 @@ import net.minecraftforge.common.capabilities.*;
 import net.minecraftforge.common.util.INBTSerializable;
 import net.minecraftforge.common.util.LazyOptional;
 import net.minecraftforge.event.AttachCapabilitiesEvent;
-import net.minecraftforge.event.entity.living.LivingDeathEvent;
 import net.minecraftforge.event.entity.player.PlayerEvent;
-import net.minecraftforge.eventbus.api.EventPriority;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod;
-import java.util.Map;
-import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * プレイヤーに親和度データを添付するCapability（安全版）
@@ -29,15 +27,16 @@ import javax.annotation.Nullable;
 @Mod.EventBusSubscriber(modid = ifoe_bravers.MODID)
 public class AffinityCapability {
 
-    // 死亡時のデータ一時保存用
-    private static final Map<UUID, CompoundTag> DEATH_DATA_CACHE = new ConcurrentHashMap<>();
-    
     public static final Capability<IAffinityData> AFFINITY_DATA = 
         CapabilityManager.get(new CapabilityToken<>() {});
     
     public static final ResourceLocation AFFINITY_DATA_CAPABILITY = 
         new ResourceLocation(ifoe_bravers.MODID, "affinity_data");
     
+    // 保存時のタグ再利用の統計（キャッシュ命中・再生成）
+    private static final LongAdder SERIALIZE_HITS = new LongAdder();
+    private static final LongAdder SERIALIZE_MISSES = new LongAdder();
+    
     /**
      * プレイヤーの親和度データを取得
      */
@@ -52,7 +51,7 @@ public class AffinityCapability {
     public static void attachCapabilities(AttachCapabilitiesEvent<Entity> event) {
         if (event.getObject() instanceof Player player) {
             if (!player.getCapability(AFFINITY_DATA).isPresent()) {
-                event.addCapability(AFFINITY_DATA_CAPABILITY, new AffinityDataProvider());
+                event.addCapability(AFFINITY_DATA_CAPABILITY, new AffinityDataProvider(player));
                 // 安全なログ処理（GameProfileがnullの場合を考慮）
                 try {
                     String playerName = player.getDisplayName() != null ? 
@@ -65,64 +64,47 @@ public class AffinityCapability {
         }
     }
 
-        /**
-     * プレイヤー死亡時にデータを事前保存
+    /**
+     * プレイヤー複製時（死亡・エンドからの帰還）に親和度データを引き継ぐ
+     * 元プレイヤーのCapabilityは無効化済みのため一時的に復活させ、
+     * NBTを経由せずAffinityDataオブジェクトをそのまま移す（実行中スキルの扱いはPlayerHandleが行う）
      */
-    @SubscribeEvent(priority = EventPriority.HIGH)
-    public static void onPlayerDeath(LivingDeathEvent event) {
-        if (event.getEntity() instanceof Player player) {
-            player.getCapability(AFFINITY_DATA).ifPresent(affinityData -> {
-                UUID playerId = player.getUUID();
-                CompoundTag savedData = affinityData.serializeNBT();
-                DEATH_DATA_CACHE.put(playerId, savedData);
-                
-                ifoe_bravers.LOGGER.info("Saved affinity data for death: {} - Level: {}, Total: {}", 
-                    player.getDisplayName().getString(),
-                    affinityData.getAffinityData().getAffinityLevel(),
-                    affinityData.getAffinityData().getTotalAffinityPoints());
-            });
+    @SubscribeEvent
+    public static void onPlayerCloned(PlayerEvent.Clone event) {
+        Player original = event.getOriginal();
+        Player player = event.getEntity();
+        
+        original.reviveCaps();
+        try {
+            getAffinityData(original).ifPresent(oldData ->
+                getAffinityData(player).ifPresent(newData -> {
+                    AffinityData data = oldData.getAffinityData();
+                    data.setRace(RaceManager.getCurrentRace(player));
+                    newData.setAffinityData(data);
+                    AffinityLeaderboard.track(player, data);
+                    
+                    ifoe_bravers.LOGGER.debug("Transferred affinity data on clone: {} - Level: {}, Total: {}, Death: {}",
+                        player.getGameProfile().getName(), data.getAffinityLevel(), data.getTotalAffinityPoints(), event.isWasDeath());
+                }));
+            PlayerHandle.onPlayerCloned(original, player, event.isWasDeath());
+        } finally {
+            original.invalidateCaps();
         }
     }
     
     /**
-     * プレイヤー複製時のデータ復元（修正版）
+     * 保存時のタグ再利用の統計を取得 [命中数, 再生成数]
      */
-    @SubscribeEvent(priority = EventPriority.NORMAL)
-    public static void onPlayerCloned(PlayerEvent.Clone event) {
-        if (event.isWasDeath()) {
-            UUID playerId = event.getEntity().getUUID();
-            
-            ifoe_bravers.LOGGER.warn("=== DEATH CLONE DEBUG ===");
-            ifoe_bravers.LOGGER.warn("Player: {}", event.getEntity().getDisplayName().getString());
-            
-            // キャッシュからデータを取得
-            CompoundTag savedData = DEATH_DATA_CACHE.get(playerId);
-            if (savedData != null) {
-                event.getEntity().getCapability(AFFINITY_DATA).ifPresent(newData -> {
-                    ifoe_bravers.LOGGER.warn("NEW DATA BEFORE - Level: {}, Total: {}", 
-                        newData.getAffinityData().getAffinityLevel(),
-                        newData.getAffinityData().getTotalAffinityPoints());
-                    
-                    // キャッシュデータを復元
-                    newData.deserializeNBT(savedData);
-                    
-                    ifoe_bravers.LOGGER.warn("NEW DATA AFTER - Level: {}, Total: {}", 
-                        newData.getAffinityData().getAffinityLevel(),
-                        newData.getAffinityData().getTotalAffinityPoints());
-                    
-                    ifoe_bravers.LOGGER.info("Restored affinity data from cache: {} - Level: {}, Total: {}", 
-                        event.getEntity().getDisplayName().getString(),
-                        newData.getAffinityData().getAffinityLevel(),
-                        newData.getAffinityData().getTotalAffinityPoints());
-                });
-                
-                // キャッシュをクリーンアップ
-                DEATH_DATA_CACHE.remove(playerId);
-            } else {
-                ifoe_bravers.LOGGER.warn("No cached affinity data found for player: {}", 
-                    event.getEntity().getDisplayName().getString());
-            }
-        }
+    public static long[] getSerializeStats() {
+        return new long[] { SERIALIZE_HITS.sum(), SERIALIZE_MISSES.sum() };
+    }
+    
+    /**
+     * 保存時のタグ再利用の統計をリセット
+     */
+    public static void resetSerializeStats() {
+        SERIALIZE_HITS.reset();
+        SERIALIZE_MISSES.reset();
     }
     
     /**
@@ -139,6 +121,11 @@ public class AffinityCapability {
     public static class AffinityDataImpl implements IAffinityData {
         private AffinityData affinityData = new AffinityData();
         
+        // 前回生成したタグ（変更が無ければそのまま返す）
+        private CompoundTag cachedTag;
+        private AffinityData cachedData;
+        private int cachedRevision;
+        
         @Override
         public AffinityData getAffinityData() {
             return affinityData;
@@ -146,16 +133,40 @@ public class AffinityCapability {
         
         @Override
         public void setAffinityData(AffinityData data) {
-            this.affinityData = data != null ? data : new AffinityData();
+            AffinityData newData = data != null ? data : new AffinityData();
+            // 差し替え後もランキングへの反映を継続
+            if (newData.getOwner() == null && affinityData.getOwner() != null) {
+                newData.setOwner(affinityData.getOwner());
+            }
+            this.affinityData = newData;
         }
         
+        /**
+         * 親和度データをNBTに変換
+         * 保存はプレイヤー数×自動保存ごとに呼ばれるため、変更が無ければ再生成せず前回のタグそのものを返す
+         * 返したタグは共有されるため、呼び出し側は変更しないこと（CapabilityDispatcherは親タグに格納するのみ）
+         */
         @Override
         public CompoundTag serializeNBT() {
-            CompoundTag nbt = affinityData.saveToNBT();
-            // デバッグログ（簡略化）
-            ifoe_bravers.LOGGER.debug("Serializing affinity data: Level={}, Total={}", 
-                affinityData.getAffinityLevel(), affinityData.getTotalAffinityPoints());
-            return nbt;
+            AffinityData data = affinityData;
+            CompoundTag tag = cachedTag;
+            if (tag != null && cachedData == data && cachedRevision == data.getRevision()) {
+                SERIALIZE_HITS.increment();
+                return tag;
+            }
+            
+            AffinityData.Snapshot snapshot = data.snapshot();
+            tag = snapshot.toNBT();
+            cachedTag = tag;
+            cachedData = data;
+            cachedRevision = snapshot.revision();
+            SERIALIZE_MISSES.increment();
+            
+            if (ifoe_bravers.LOGGER.isTraceEnabled()) {
+                ifoe_bravers.LOGGER.trace("Serializing affinity data: TotalMicro={}, Revision={}",
+                    snapshot.totalMicroPoints(), snapshot.revision());
+            }
+            return tag;
         }
         
         @Override
@@ -171,15 +182,25 @@ public class AffinityCapability {
     
     /**
      * Capabilityプロバイダー（INBTSerializable対応）
+     * 親和度データと同時にプレイヤーハンドルも提供する
      */
     public static class AffinityDataProvider implements ICapabilityProvider, INBTSerializable<CompoundTag> {
         private final IAffinityData affinityData = new AffinityDataImpl();
         private final LazyOptional<IAffinityData> optional = LazyOptional.of(() -> affinityData);
+        private final PlayerHandle handle;
+        private final LazyOptional<PlayerHandle> handleOptional;
+        
+        public AffinityDataProvider(Player player) {
+            this.handle = new PlayerHandle(player, affinityData);
+            this.handleOptional = LazyOptional.of(() -> handle);
+        }
         
         @Nonnull
         @Override
         public <T> LazyOptional<T> getCapability(@Nonnull Capability<T> cap, @Nullable Direction side) {
-            return cap == AFFINITY_DATA ? optional.cast() : LazyOptional.empty();
+            if (cap == AFFINITY_DATA) return optional.cast();
+            if (cap == PlayerHandle.PLAYER_HANDLE) return handleOptional.cast();
+            return LazyOptional.empty();
         }
         
         @Override
@@ -193,15 +214,15 @@ public class AffinityCapability {
         }
     }
 
-        /**
-     * プレイヤーログアウト時のキャッシュクリーンアップ
+    /**
+     * ログイン時に種族の成長曲線を適用し、ランキングに紐付け
      */
     @SubscribeEvent
-    public static void onPlayerLoggedOut(PlayerEvent.PlayerLoggedOutEvent event) {
-        UUID playerId = event.getEntity().getUUID();
-        if (DEATH_DATA_CACHE.remove(playerId) != null) {
-            ifoe_bravers.LOGGER.debug("Cleaned up cached affinity data for logged out player: {}", 
-                event.getEntity().getDisplayName().getString());
-        }
+    public static void onPlayerLoggedIn(PlayerEvent.PlayerLoggedInEvent event) {
+        Player player = event.getEntity();
+        getAffinityData(player).ifPresent(affinityData -> {
+            affinityData.getAffinityData().setRace(RaceManager.getCurrentRace(player));
+            AffinityLeaderboard.track(player, affinityData.getAffinityData());
+        });
     }
 }
\ No newline at end of file
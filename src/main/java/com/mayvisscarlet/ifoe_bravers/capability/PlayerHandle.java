@@ -0,0 +1,150 @@
+package com.mayvisscarlet.ifoe_bravers.capability;
+
+import com.mayvisscarlet.ifoe_bravers.ifoe_bravers;
+import com.mayvisscarlet.ifoe_bravers.growth.AffinityData;
+import com.mayvisscarlet.ifoe_bravers.race.Race;
+import com.mayvisscarlet.ifoe_bravers.skills.SkillExecutionManager;
+import net.minecraft.world.entity.player.Player;
+import net.minecraftforge.common.capabilities.Capability;
+import net.minecraftforge.common.capabilities.CapabilityManager;
+import net.minecraftforge.common.capabilities.CapabilityToken;
+import net.minecraftforge.event.entity.EntityJoinLevelEvent;
+import net.minecraftforge.event.entity.EntityLeaveLevelEvent;
+import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.eventbus.api.EventPriority;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * プレイヤーごとの状態ハンドル（親和度・種族・実行中スキル）
+ * Capability添付時に1度だけ生成し、ワールド参加時にエンティティをキーとするマップ（同一性で比較）へ登録、離脱時に登録を外す
+ * 参照はこのマップの検索1回で、Capability検索やUUIDのハッシュ計算・比較は行わない
+ * 未登録（ワールド参加前・離脱後）のプレイヤーはCapability検索で解決する
+ */
+@Mod.EventBusSubscriber(modid = ifoe_bravers.MODID)
+public class PlayerHandle {
+    
+    public static final Capability<PlayerHandle> PLAYER_HANDLE =
+        CapabilityManager.get(new CapabilityToken<>() {});
+    
+    // ワールドに参加中のプレイヤーのハンドル（エンティティ単位、参加時に登録・離脱時に削除）
+    private static final Map<Player, PlayerHandle> HANDLES = new ConcurrentHashMap<>();
+    
+    private final Player player;
+    private final AffinityCapability.IAffinityData affinity;
+    private volatile Race race;                                      // nullの場合は未解決
+    private volatile SkillExecutionManager.SkillData activeSkill;    // 実行中でない場合はnull
+    private volatile boolean valid = true;
+    
+    PlayerHandle(Player player, AffinityCapability.IAffinityData affinity) {
+        this.player = player;
+        this.affinity = affinity;
+    }
+    
+    /**
+     * プレイヤーのハンドルを取得（Capability未添付・無効化済みの場合はnull）
+     * 登録済みのプレイヤーはマップの検索1回、未登録の場合はCapability検索
+     */
+    public static PlayerHandle of(Player player) {
+        PlayerHandle handle = HANDLES.get(player);
+        if (handle != null) {
+            return handle;
+        }
+        
+        // ワールド参加前・離脱後（ログアウト処理中など）はCapabilityから解決し、登録はしない
+        return player.getCapability(PLAYER_HANDLE).orElse(null);
+    }
+    
+    /**
+     * ワールド参加時の登録があるか（未登録の場合、ofはCapability検索になる）
+     */
+    public static boolean isRegistered(Player player) {
+        return HANDLES.containsKey(player);
+    }
+    
+    // ========================================
+    // 状態アクセス
+    // ========================================
+    
+    public AffinityData getAffinityData() {
+        return affinity.getAffinityData();
+    }
+    
+    public Race getRace() { return race; }
+    public void setRace(Race race) { this.race = race; }
+    
+    public SkillExecutionManager.SkillData getActiveSkill() { return activeSkill; }
+    public void setActiveSkill(SkillExecutionManager.SkillData skill) { this.activeSkill = skill; }
+    
+    public Player getPlayer() { return player; }
+    public boolean isValid() { return valid; }
+    
+    // ========================================
+    // 登録・無効化
+    // ========================================
+    
+    /**
+     * ワールド参加時（ログイン・リスポーン・ディメンション移動）：ハンドルを登録
+     * 他の処理で参加が取り消された場合に登録が残らないよう、最後に処理する
+     */
+    @SubscribeEvent(priority = EventPriority.LOWEST)
+    public static void onEntityJoinLevel(EntityJoinLevelEvent event) {
+        if (event.getEntity() instanceof Player player) {
+            player.getCapability(PLAYER_HANDLE).ifPresent(handle -> {
+                if (handle.valid) {
+                    HANDLES.put(player, handle);
+                }
+            });
+        }
+    }
+    
+    /**
+     * ワールド離脱時：登録を外し、プレイヤーへの参照を残さない
+     */
+    @SubscribeEvent
+    public static void onEntityLeaveLevel(EntityLeaveLevelEvent event) {
+        if (event.getEntity() instanceof Player player) {
+            HANDLES.remove(player);
+        }
+    }
+    
+    /**
+     * ログアウト時：ハンドルを無効化し、プレイヤーへの参照を残さない
+     */
+    @SubscribeEvent
+    public static void onPlayerLoggedOut(PlayerEvent.PlayerLoggedOutEvent event) {
+        Player player = event.getEntity();
+        player.getCapability(PLAYER_HANDLE).ifPresent(handle -> {
+            handle.valid = false;
+            handle.activeSkill = null;
+        });
+        HANDLES.remove(player);
+    }
+    
+    /**
+     * 複製時（AffinityCapabilityから呼び出し、元プレイヤーのCapabilityは復活済み）
+     * 元プレイヤーのハンドルを無効化し、実行中スキルは死亡時なら終了、それ以外は新しいハンドルへ引き継ぐ
+     */
+    static void onPlayerCloned(Player original, Player player, boolean wasDeath) {
+        PlayerHandle oldHandle = original.getCapability(PLAYER_HANDLE).orElse(null);
+        if (oldHandle == null) {
+            return;
+        }
+        SkillExecutionManager.SkillData skill = oldHandle.activeSkill;
+        oldHandle.valid = false;
+        oldHandle.activeSkill = null;
+        HANDLES.remove(original, oldHandle);
+        
+        if (skill == null || skill.isEnded()) {
+            return;
+        }
+        if (wasDeath) {
+            SkillExecutionManager.endSkillExecution(player);
+        } else {
+            player.getCapability(PLAYER_HANDLE).ifPresent(handle -> handle.activeSkill = skill);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.mayvisscarlet.ifoe_bravers.client;
+
+/**
+ * クライアント側で保持する自プレイヤーの親和度データ
+ * サーバーからの同期パケットでのみ更新される（HUD等の参照用）
+ */
+public class ClientAffinityData {
+    
+    private static volatile int affinityLevel = 0;
+    private static volatile float currentLevelPoints = 0.0f;
+    private static volatile float totalAffinityPoints = 0.0f;
+    private static volatile int pointsToNextLevel = 7;
+    
+    /**
+     * 同期パケットから値を更新
+     */
+    public static void update(int level, float current, float total, int toNextLevel) {
+        affinityLevel = level;
+        currentLevelPoints = current;
+        totalAffinityPoints = total;
+        pointsToNextLevel = toNextLevel;
+    }
+    
+    public static int getAffinityLevel() { return affinityLevel; }
+    public static float getCurrentLevelPoints() { return currentLevelPoints; }
+    public static float getTotalAffinityPoints() { return totalAffinityPoints; }
+    public static int getPointsToNextLevel() { return pointsToNextLevel; }
+    
+    /**
+     * 進行度を0.0-1.0で取得
+     */
+    public static float getLevelProgress() {
+        int needed = pointsToNextLevel;
+        return needed > 0 ? currentLevelPoints / needed : 0.0f;
+    }
+}
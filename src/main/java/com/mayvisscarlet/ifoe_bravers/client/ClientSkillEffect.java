@@ -0,0 +1,18 @@
+package com.mayvisscarlet.ifoe_bravers.client;
+
+import net.minecraft.client.multiplayer.ClientLevel;
+import net.minecraft.util.RandomSource;
+import net.minecraft.world.entity.Entity;
+
+/**
+ * スキル演出（クライアント側で毎ティック再生）
+ */
+@FunctionalInterface
+public interface ClientSkillEffect {
+    
+    /**
+     * @param elapsedTicks 発動からの経過ティック（0始まり）
+     * @param random そのティック専用の乱数（シードと経過ティックから決定）
+     */
+    void tick(ClientLevel level, Entity caster, int elapsedTicks, RandomSource random);
+}
@@ -0,0 +1,95 @@
+package com.mayvisscarlet.ifoe_bravers.client;
+
+import com.mayvisscarlet.ifoe_bravers.ifoe_bravers;
+import com.mayvisscarlet.ifoe_bravers.network.SkillStartedPacket;
+import com.mayvisscarlet.ifoe_bravers.skills.TestFireSkill;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.multiplayer.ClientLevel;
+import net.minecraft.util.RandomSource;
+import net.minecraft.world.entity.Entity;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.client.event.ClientPlayerNetworkEvent;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * スキル演出の再生（クライアント側）
+ * 発動通知を受けてから効果時間が終わるまで、発動者の位置に追従して演出を再生する
+ * 各ティックの乱数はシードと経過ティックのみから決まるため、受信したすべてのクライアントで同じ演出になる
+ */
+@Mod.EventBusSubscriber(modid = ifoe_bravers.MODID, bus = Mod.EventBusSubscriber.Bus.FORGE, value = Dist.CLIENT)
+public class ClientSkillEffects {
+    
+    private static final Map<String, ClientSkillEffect> EFFECTS = new HashMap<>();
+    
+    // 再生中の演出（発動者のエンティティID→演出、クライアントスレッド専用）
+    private static final Map<Integer, Running> RUNNING = new HashMap<>();
+    
+    static {
+        EFFECTS.put(TestFireSkill.NAME, new TestFireSkillEffect());
+    }
+    
+    private static final class Running {
+        final ClientSkillEffect effect;
+        final int startTick;
+        final int durationTicks;
+        final long seed;
+        int elapsedTicks;
+        
+        Running(ClientSkillEffect effect, int startTick, int durationTicks, long seed) {
+            this.effect = effect;
+            this.startTick = startTick;
+            this.durationTicks = durationTicks;
+            this.seed = seed;
+        }
+    }
+    
+    /**
+     * 発動通知から演出を開始（同じ発動者の再生中の演出は置き換える）
+     */
+    public static void start(SkillStartedPacket packet) {
+        String name = ClientSkillIds.getName(packet.getSkillId());
+        ClientSkillEffect effect = name != null ? EFFECTS.get(name) : null;
+        if (effect == null) return;
+        
+        Running current = RUNNING.get(packet.getCasterId());
+        if (current != null && current.startTick > packet.getStartTick()) return; // 古い通知
+        
+        RUNNING.put(packet.getCasterId(),
+            new Running(effect, packet.getStartTick(), packet.getDurationTicks(), packet.getSeed()));
+    }
+    
+    @SubscribeEvent
+    public static void onClientTick(TickEvent.ClientTickEvent event) {
+        if (event.phase != TickEvent.Phase.END || RUNNING.isEmpty()) return;
+        
+        Minecraft mc = Minecraft.getInstance();
+        ClientLevel level = mc.level;
+        if (level == null || mc.isPaused()) return;
+        
+        Iterator<Map.Entry<Integer, Running>> iterator = RUNNING.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Integer, Running> entry = iterator.next();
+            Running running = entry.getValue();
+            Entity caster = level.getEntity(entry.getKey());
+            if (caster == null || caster.isRemoved() || running.elapsedTicks >= running.durationTicks) {
+                iterator.remove();
+                continue;
+            }
+            
+            RandomSource random = RandomSource.create(running.seed + running.elapsedTicks * 0x9E3779B97F4A7C15L);
+            running.effect.tick(level, caster, running.elapsedTicks, random);
+            running.elapsedTicks++;
+        }
+    }
+    
+    @SubscribeEvent
+    public static void onLoggingOut(ClientPlayerNetworkEvent.LoggingOut event) {
+        RUNNING.clear();
+    }
+}
@@ -0,0 +1,42 @@
+package com.mayvisscarlet.ifoe_bravers.client;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * サーバーから同期されたスキルIDの割り当て（クライアント側）
+ */
+public class ClientSkillIds {
+    
+    private static volatile Map<String, Integer> ids = Map.of();
+    private static volatile String[] idNames = new String[0];
+    
+    /**
+     * 割り当てを更新（ID順の登録名一覧）
+     */
+    public static void update(List<String> names) {
+        Map<String, Integer> newIds = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            newIds.put(names.get(i), i);
+        }
+        ids = newIds;
+        idNames = names.toArray(new String[0]);
+    }
+    
+    /**
+     * 登録名からIDを取得（未同期・サーバー未登録の場合は-1）
+     */
+    public static int getId(String name) {
+        Integer id = ids.get(name);
+        return id != null ? id : -1;
+    }
+    
+    /**
+     * IDから登録名を取得（不明なIDの場合はnull）
+     */
+    public static String getName(int id) {
+        String[] names = idNames;
+        return id >= 0 && id < names.length ? names[id] : null;
+    }
+}
@@ -6,6 +6,7 @@ import com.mayvisscarlet.ifoe_bravers.ifoe_bravers;
 import com.mayvisscarlet.ifoe_bravers.network.SkillActivationPacket;
 import com.mayvisscarlet.ifoe_bravers.network.ModNetworking;
 import com.mayvisscarlet.ifoe_bravers.util.DebugDisplay;
+import com.mayvisscarlet.ifoe_bravers.skills.TestFireSkill;
 import com.mayvisscarlet.ifoe_bravers.race.RaceManager;
 import net.minecraft.client.Minecraft;
 import net.minecraft.world.entity.player.Player;
@@ -38,8 +39,13 @@ public class SkillInputHandler {
                 return;
             }
             
-            // サーバーにスキル発動を通知
-            ModNetworking.sendToServer(new SkillActivationPacket("test_fire_skill"));
+            // サーバーから割り当てられたIDで発動を通知
+            int skillId = ClientSkillIds.getId(TestFireSkill.NAME);
+            if (skillId < 0) {
+                DebugDisplay.warn(player, "SKILL_EXECUTION", "Skill not available on this server");
+                return;
+            }
+            ModNetworking.sendToServer(new SkillActivationPacket(skillId));
             
             DebugDisplay.info(player, "INPUT_DETECTION", "Skill key pressed by %s", player.getDisplayName().getString());
         }
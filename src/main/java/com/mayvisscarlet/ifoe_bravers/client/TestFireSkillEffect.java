@@ -0,0 +1,34 @@
+package com.mayvisscarlet.ifoe_bravers.client;
+
+import net.minecraft.client.multiplayer.ClientLevel;
+import net.minecraft.core.particles.ParticleTypes;
+import net.minecraft.util.RandomSource;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.phys.Vec3;
+
+/**
+ * テスト用火炎スキルの演出
+ * 発動者の前方1.5ブロック地点に毎ティック炎パーティクルを生成する
+ */
+public class TestFireSkillEffect implements ClientSkillEffect {
+    
+    private static final int PARTICLE_COUNT = 5;
+    private static final double PARTICLE_SPREAD = 0.3;
+    private static final double PARTICLE_SPEED = 0.02;
+    
+    @Override
+    public void tick(ClientLevel level, Entity caster, int elapsedTicks, RandomSource random) {
+        // 他プレイヤーの位置はクライアント側で補間済みのものを使う
+        Vec3 particlePos = caster.getEyePosition().add(caster.getLookAngle().scale(1.5));
+        
+        for (int i = 0; i < PARTICLE_COUNT; i++) {
+            level.addParticle(ParticleTypes.FLAME,
+                particlePos.x + (random.nextDouble() - 0.5) * PARTICLE_SPREAD,
+                particlePos.y + (random.nextDouble() - 0.5) * PARTICLE_SPREAD,
+                particlePos.z + (random.nextDouble() - 0.5) * PARTICLE_SPREAD,
+                random.nextGaussian() * PARTICLE_SPEED,
+                random.nextGaussian() * PARTICLE_SPEED,
+                random.nextGaussian() * PARTICLE_SPEED);
+        }
+    }
+}
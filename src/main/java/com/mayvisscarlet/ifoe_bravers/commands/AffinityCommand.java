@@ -1,14 +1,30 @@
 package com.mayvisscarlet.ifoe_bravers.commands;
 
 import com.mayvisscarlet.ifoe_bravers.capability.AffinityCapability;
+import com.mayvisscarlet.ifoe_bravers.growth.AffinityCurve;
+import com.mayvisscarlet.ifoe_bravers.growth.AffinityCurves;
+import com.mayvisscarlet.ifoe_bravers.growth.AffinityData;
+import com.mayvisscarlet.ifoe_bravers.growth.AffinityJournal;
+import com.mayvisscarlet.ifoe_bravers.growth.AffinityLeaderboard;
+import com.mayvisscarlet.ifoe_bravers.growth.AffinityRankIndex;
+import com.mayvisscarlet.ifoe_bravers.growth.AffinityStore;
+import com.mojang.authlib.GameProfile;
 import com.mojang.brigadier.CommandDispatcher;
 import com.mojang.brigadier.arguments.DoubleArgumentType;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
 import net.minecraft.commands.CommandSourceStack;
 import net.minecraft.commands.Commands;
 import net.minecraft.commands.arguments.EntityArgument;
+import net.minecraft.commands.arguments.GameProfileArgument;
 import net.minecraft.network.chat.Component;
 import net.minecraft.server.level.ServerPlayer;
 
+import java.text.SimpleDateFormat;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.OptionalLong;
+
 /**
  * 親和度データの確認・操作用デバッグコマンド
  * /anwsorigin affinity ~ の形式
@@ -39,6 +55,51 @@ public class AffinityCommand {
                         .executes(context -> resetAffinity(context.getSource(), EntityArgument.getPlayer(context, "player")))
                     )
                 )
+                .then(Commands.literal("offline")
+                    .then(Commands.literal("get")
+                        .then(Commands.argument("player", GameProfileArgument.gameProfile())
+                            .executes(context -> getOfflineAffinity(context.getSource(), GameProfileArgument.getGameProfiles(context, "player")))
+                        )
+                    )
+                    .then(Commands.literal("add")
+                        .then(Commands.argument("amount", DoubleArgumentType.doubleArg(0.0))
+                            .then(Commands.argument("player", GameProfileArgument.gameProfile())
+                                .executes(context -> addOfflineAffinity(context.getSource(), GameProfileArgument.getGameProfiles(context, "player"), DoubleArgumentType.getDouble(context, "amount")))
+                            )
+                        )
+                    )
+                    .then(Commands.literal("reset")
+                        .then(Commands.argument("player", GameProfileArgument.gameProfile())
+                            .executes(context -> resetOfflineAffinity(context.getSource(), GameProfileArgument.getGameProfiles(context, "player")))
+                        )
+                    )
+                )
+                .then(Commands.literal("top")
+                    .executes(context -> showTop(context.getSource(), 10))
+                    .then(Commands.argument("n", IntegerArgumentType.integer(1, 100))
+                        .executes(context -> showTop(context.getSource(), IntegerArgumentType.getInteger(context, "n")))
+                    )
+                )
+                .then(Commands.literal("rank")
+                    .executes(context -> showRank(context.getSource(), List.of(context.getSource().getPlayerOrException().getGameProfile())))
+                    .then(Commands.argument("player", GameProfileArgument.gameProfile())
+                        .executes(context -> showRank(context.getSource(), GameProfileArgument.getGameProfiles(context, "player")))
+                    )
+                )
+                .then(Commands.literal("stats")
+                    .executes(context -> showSerializeStats(context.getSource(), false))
+                    .then(Commands.literal("reset")
+                        .executes(context -> showSerializeStats(context.getSource(), true))
+                    )
+                )
+                .then(Commands.literal("history")
+                    .then(Commands.argument("player", GameProfileArgument.gameProfile())
+                        .executes(context -> showHistory(context.getSource(), GameProfileArgument.getGameProfiles(context, "player"), 10))
+                        .then(Commands.argument("n", IntegerArgumentType.integer(1, 100))
+                            .executes(context -> showHistory(context.getSource(), GameProfileArgument.getGameProfiles(context, "player"), IntegerArgumentType.getInteger(context, "n")))
+                        )
+                    )
+                )
             )
         );
     }
@@ -71,6 +132,8 @@ public class AffinityCommand {
             var data = affinityData.getAffinityData();
             int oldLevel = data.getAffinityLevel();
             boolean leveledUp = data.addAffinityPoints(amount);
+            AffinityJournal.record(player.getUUID(), AffinityData.toMicroPoints(amount),
+                AffinityJournal.Source.COMMAND_ADD, data.getAffinityLevel());
             
             if (leveledUp) {
                 source.sendSuccess(() -> Component.literal(String.format(
@@ -102,8 +165,11 @@ public class AffinityCommand {
     
     private static int resetAffinity(CommandSourceStack source, ServerPlayer player) {
         AffinityCapability.getAffinityData(player).ifPresent(affinityData -> {
-            var newData = new com.mayvisscarlet.ifoe_bravers.growth.AffinityData();
+            var newData = new AffinityData();
+            newData.setRace(affinityData.getAffinityData().getRace());
+            long oldTotal = affinityData.getAffinityData().getTotalMicroPoints();
             affinityData.setAffinityData(newData);
+            AffinityJournal.record(player.getUUID(), -oldTotal, AffinityJournal.Source.COMMAND_RESET, 0);
             
             source.sendSuccess(() -> Component.literal(String.format(
                 "§b%s§r の親和度データをリセットしました。",
@@ -118,4 +184,187 @@ public class AffinityCommand {
         }
         return 1;
     }
+    
+    /**
+     * 親和度ランキングの上位N件を表示（オフラインプレイヤーを含む）
+     */
+    private static int showTop(CommandSourceStack source, int limit) {
+        AffinityLeaderboard leaderboard = AffinityLeaderboard.get();
+        if (leaderboard == null) {
+            source.sendFailure(Component.literal("§c親和度ランキングが読み込まれていません"));
+            return 0;
+        }
+        
+        List<AffinityRankIndex.Entry> entries = leaderboard.top(limit);
+        StringBuilder message = new StringBuilder(String.format("§6=== 親和度ランキング（上位%d / %d人） ===", entries.size(), leaderboard.size()));
+        int rank = 1;
+        for (AffinityRankIndex.Entry entry : entries) {
+            double total = (double) entry.totalMicroPoints() / AffinityCurve.MICRO_POINTS_PER_POINT;
+            message.append(String.format("\n§e%d. §b%s §7- §a%.3f", rank++, entry.name(), total));
+        }
+        source.sendSuccess(() -> Component.literal(message.toString()), false);
+        return entries.size();
+    }
+    
+    /**
+     * 指定プレイヤーの親和度ランキング順位を表示（オフラインプレイヤーを含む）
+     */
+    private static int showRank(CommandSourceStack source, Collection<GameProfile> profiles) {
+        AffinityLeaderboard leaderboard = AffinityLeaderboard.get();
+        if (leaderboard == null) {
+            source.sendFailure(Component.literal("§c親和度ランキングが読み込まれていません"));
+            return 0;
+        }
+        
+        for (GameProfile profile : profiles) {
+            int rank = leaderboard.rankOf(profile.getId());
+            AffinityRankIndex.Entry entry = leaderboard.get(profile.getId());
+            if (rank < 0 || entry == null) {
+                source.sendFailure(Component.literal(String.format("§c%s の親和度データはランキングにありません", profile.getName())));
+                continue;
+            }
+            
+            double total = (double) entry.totalMicroPoints() / AffinityCurve.MICRO_POINTS_PER_POINT;
+            source.sendSuccess(() -> Component.literal(String.format(
+                "§b%s§r の親和度ランキング: §e%d位§7 / %d人 §7(累積親和値: §a%.3f§7)",
+                entry.name(), rank, leaderboard.size(), total
+            )), false);
+        }
+        return profiles.size();
+    }
+    
+    // ========================================
+    // オフラインプレイヤー（AffinityStore経由）
+    // オンラインのプレイヤーはCapabilityを直接操作する
+    // ========================================
+    
+    private static int getOfflineAffinity(CommandSourceStack source, Collection<GameProfile> profiles) {
+        AffinityStore store = AffinityStore.get();
+        for (GameProfile profile : profiles) {
+            ServerPlayer online = source.getServer().getPlayerList().getPlayer(profile.getId());
+            if (online != null) {
+                getAffinity(source, online);
+                continue;
+            }
+            
+            OptionalLong total = store != null ? store.getTotal(profile.getId()) : OptionalLong.empty();
+            if (total.isEmpty()) {
+                source.sendFailure(Component.literal(String.format("§c%s の親和度データが見つかりません", profile.getName())));
+                continue;
+            }
+            
+            // 記録されている種族の成長曲線でレベルを求める
+            AffinityData data = new AffinityData();
+            data.setRace(store.getRace(profile.getId()));
+            data.setTotalMicroPoints(total.getAsLong());
+            source.sendSuccess(() -> Component.literal(String.format(
+                "§b%s§r §7(オフライン)§r の親和度データ:\n" +
+                "§e種族: §a%s\n" +
+                "§e親和度レベル: §a%d\n" +
+                "§e現在の親和値: §a%.3f§7/§a%d §7(%.1f%%)\n" +
+                "§e累積親和値: §a%.3f",
+                profile.getName(),
+                data.getRace().getDisplayName(),
+                data.getAffinityLevel(),
+                data.getCurrentLevelPoints(),
+                data.getPointsToNextLevel(),
+                data.getLevelProgress() * 100,
+                data.getTotalAffinityPoints()
+            )), false);
+        }
+        return profiles.size();
+    }
+    
+    private static int addOfflineAffinity(CommandSourceStack source, Collection<GameProfile> profiles, double amount) {
+        AffinityStore store = AffinityStore.get();
+        for (GameProfile profile : profiles) {
+            ServerPlayer online = source.getServer().getPlayerList().getPlayer(profile.getId());
+            if (online != null) {
+                addAffinity(source, online, amount);
+                continue;
+            }
+            
+            OptionalLong total = store != null ? store.addOffline(profile.getId(), AffinityData.toMicroPoints(amount)) : OptionalLong.empty();
+            if (total.isEmpty()) {
+                source.sendFailure(Component.literal(String.format("§c%s の親和度データが見つかりません", profile.getName())));
+                continue;
+            }
+            AffinityJournal.record(profile.getId(), AffinityData.toMicroPoints(amount),
+                AffinityJournal.Source.OFFLINE_ADD,
+                AffinityCurves.get(store.getRace(profile.getId())).levelForMicroPoints(total.getAsLong()));
+            
+            source.sendSuccess(() -> Component.literal(String.format(
+                "§b%s§r §7(オフライン)§r に親和値 §a%.3f§r を追加しました。次回ログイン時に反映されます。",
+                profile.getName(),
+                amount
+            )), true);
+        }
+        return profiles.size();
+    }
+    
+    private static int resetOfflineAffinity(CommandSourceStack source, Collection<GameProfile> profiles) {
+        AffinityStore store = AffinityStore.get();
+        for (GameProfile profile : profiles) {
+            ServerPlayer online = source.getServer().getPlayerList().getPlayer(profile.getId());
+            if (online != null) {
+                resetAffinity(source, online);
+                continue;
+            }
+            
+            OptionalLong oldTotal = store != null ? store.getTotal(profile.getId()) : OptionalLong.empty();
+            if (oldTotal.isEmpty() || !store.resetOffline(profile.getId())) {
+                source.sendFailure(Component.literal(String.format("§c%s の親和度データが見つかりません", profile.getName())));
+                continue;
+            }
+            AffinityJournal.record(profile.getId(), -oldTotal.getAsLong(), AffinityJournal.Source.OFFLINE_RESET, 0);
+            
+            source.sendSuccess(() -> Component.literal(String.format(
+                "§b%s§r §7(オフライン)§r の親和度データをリセットしました。次回ログイン時に反映されます。",
+                profile.getName()
+            )), true);
+        }
+        return profiles.size();
+    }
+    
+    /**
+     * 親和度の変更履歴を表示（ジャーナルの読み込みは別スレッドで行い、結果をサーバースレッドで送信）
+     */
+    private static int showHistory(CommandSourceStack source, Collection<GameProfile> profiles, int limit) {
+        for (GameProfile profile : profiles) {
+            AffinityJournal.queryRecent(profile.getId(), limit).thenAccept(entries -> source.getServer().execute(() -> {
+                if (entries.isEmpty()) {
+                    source.sendFailure(Component.literal(String.format("§c%s の親和度変更履歴はありません", profile.getName())));
+                    return;
+                }
+                
+                SimpleDateFormat format = new SimpleDateFormat("MM-dd HH:mm:ss");
+                StringBuilder message = new StringBuilder(String.format("§6=== %s の親和度変更履歴（新しい順・%d件） ===", profile.getName(), entries.size()));
+                for (AffinityJournal.Entry entry : entries) {
+                    double delta = (double) entry.deltaMicroPoints() / AffinityCurve.MICRO_POINTS_PER_POINT;
+                    message.append(String.format("\n§7%s §e%s §a%+.3f §7→ Lv.§b%d",
+                        format.format(new Date(entry.timestamp())), entry.source().getId(), delta, entry.level()));
+                }
+                source.sendSuccess(() -> Component.literal(message.toString()), false);
+            }));
+        }
+        return profiles.size();
+    }
+    
+    /**
+     * 保存時のタグ再利用の統計を表示
+     */
+    private static int showSerializeStats(CommandSourceStack source, boolean reset) {
+        long[] stats = AffinityCapability.getSerializeStats();
+        long total = stats[0] + stats[1];
+        source.sendSuccess(() -> Component.literal(String.format(
+            "§6親和度データ保存統計: §e再利用 §a%d §7/ §e再生成 §c%d §7(再利用率 %.1f%%)",
+            stats[0], stats[1], total > 0 ? stats[0] * 100.0 / total : 0.0
+        )), false);
+        
+        if (reset) {
+            AffinityCapability.resetSerializeStats();
+            source.sendSuccess(() -> Component.literal("§7統計をリセットしました"), false);
+        }
+        return 1;
+    }
 }
\ No newline at end of file
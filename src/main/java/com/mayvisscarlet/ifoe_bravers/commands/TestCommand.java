@@ -3,6 +3,7 @@ package com.mayvisscarlet.ifoe_bravers.commands;
 import com.mayvisscarlet.ifoe_bravers.config.ConfigManager;
 import com.mayvisscarlet.ifoe_bravers.race.RaceManager;
 import com.mayvisscarlet.ifoe_bravers.util.DebugDisplay;
+import com.mayvisscarlet.ifoe_bravers.util.PerformanceBenchmark;
 import com.mojang.brigadier.CommandDispatcher;
 import net.minecraft.commands.CommandSourceStack;
 import net.minecraft.commands.Commands;
@@ -82,6 +83,26 @@ public class TestCommand {
                                 .then(Commands.argument("player", EntityArgument.player())
                                         .executes(context -> testRecoveryBonus(context.getSource(),
                                                 EntityArgument.getPlayer(context, "player"))))))
+                // パフォーマンス計測
+                .then(Commands.literal("bench")
+                        .then(Commands.literal("affinity_curve")
+                                .executes(context -> runBenchmark(context.getSource(), "affinity_curve",
+                                        PerformanceBenchmark.benchmarkAffinityCurve(2000, 20_000))))
+                        .then(Commands.literal("player_lookup")
+                                .executes(context -> runBenchmark(context.getSource(), "player_lookup",
+                                        PerformanceBenchmark.benchmarkPlayerLookup(context.getSource().getPlayerOrException(), 200_000))))
+                        .then(Commands.literal("timers")
+                                .executes(context -> runBenchmark(context.getSource(), "timers",
+                                        PerformanceBenchmark.benchmarkTimers(50_000, 1200))))
+                        .then(Commands.literal("particle_traffic")
+                                .executes(context -> runBenchmark(context.getSource(), "particle_traffic",
+                                        PerformanceBenchmark.benchmarkParticleTraffic(30, 30))))
+                        .then(Commands.literal("skill_gate")
+                                .executes(context -> runBenchmark(context.getSource(), "skill_gate",
+                                        PerformanceBenchmark.benchmarkSkillGate(context.getSource().getPlayerOrException(), 200_000))))
+                        .then(Commands.literal("patricia_modifiers")
+                                .executes(context -> runBenchmark(context.getSource(), "patricia_modifiers",
+                                        PerformanceBenchmark.benchmarkPatriciaModifiers(2000, 200_000)))))
                 // 将来の種族拡張用
                 .then(Commands.literal("yura")
                         .executes(context -> {
@@ -114,9 +135,22 @@ public class TestCommand {
         source.sendSuccess(() -> Component.literal("§b/anwstest patricia heat_test §7- 熱ダメージ脆弱性テスト"), false);
         source.sendSuccess(() -> Component.literal("§b/anwstest patricia biome_test §7- バイオーム効果テスト"), false);
         source.sendSuccess(() -> Component.literal("§b/anwstest patricia recovery_test §7- 回復ボーナステスト"), false);
+        source.sendSuccess(() -> Component.literal("§b/anwstest bench <name> §7- パフォーマンス計測"), false);
         source.sendSuccess(() -> Component.literal("§7将来実装予定: yura, carnis, vorey"), false);
     }
 
+    /**
+     * ベンチマーク結果の表示
+     */
+    private static int runBenchmark(CommandSourceStack source, String name, java.util.List<String> results) {
+        source.sendSuccess(() -> Component.literal("§e=== Benchmark: " + name + " ==="), false);
+        for (String line : results) {
+            DebugDisplay.info("PERFORMANCE", "[%s] %s", name, line);
+            source.sendSuccess(() -> Component.literal("§7" + line), false);
+        }
+        return 1;
+    }
+
     /**
      * 寒冷バイオーム効果テスト（UnwaveringWinter版）
      */
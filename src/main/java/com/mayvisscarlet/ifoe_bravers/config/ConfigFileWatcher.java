@@ -0,0 +1,130 @@
+package com.mayvisscarlet.ifoe_bravers.config;
+
+import com.mayvisscarlet.ifoe_bravers.ifoe_bravers;
+import net.minecraftforge.event.server.ServerStartedEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 設定ファイルの変更監視（サーバー稼働中のみ）
+ * 設定ディレクトリの *_config.json の変更を専用スレッドで検知し、
+ * 一定時間変更が続かなくなった時点でConfigManagerに再読み込みさせる
+ * 解析・検証・公開はすべて監視スレッドで行い、サーバースレッドはファイルI/Oを待たない
+ */
+@Mod.EventBusSubscriber(modid = ifoe_bravers.MODID)
+public class ConfigFileWatcher {
+    
+    private static final String FILE_SUFFIX = "_config.json";
+    private static final long DEBOUNCE_MILLIS = 500;
+    
+    // 稼働中の監視（サーバー停止中はnull）
+    private static volatile ConfigFileWatcher instance;
+    
+    private final Path directory;
+    private final WatchService watchService;
+    private final Thread watcher;
+    private volatile boolean running = true;
+    
+    private ConfigFileWatcher(Path directory) throws IOException {
+        this.directory = directory;
+        this.watchService = directory.getFileSystem().newWatchService();
+        directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        this.watcher = new Thread(this::watchLoop, "IfOE Config Watcher");
+        this.watcher.setDaemon(true);
+        this.watcher.start();
+    }
+    
+    // ========================================
+    // ライフサイクル
+    // ========================================
+    
+    @SubscribeEvent
+    public static void onServerStarted(ServerStartedEvent event) {
+        stop();
+        try {
+            instance = new ConfigFileWatcher(ConfigManager.getConfigDirectory());
+            ifoe_bravers.LOGGER.info("Watching {} for config changes", ConfigManager.getConfigDirectory());
+        } catch (IOException | UnsupportedOperationException e) {
+            ifoe_bravers.LOGGER.warn("Config hot reload unavailable: {}", e.getMessage());
+        }
+    }
+    
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        stop();
+    }
+    
+    private static void stop() {
+        ConfigFileWatcher current = instance;
+        instance = null;
+        if (current != null) {
+            current.running = false;
+            try {
+                current.watchService.close();
+                current.watcher.join(5000);
+            } catch (IOException e) {
+                ifoe_bravers.LOGGER.warn("Failed to close config watcher", e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+    
+    // ========================================
+    // 監視
+    // ========================================
+    
+    private void watchLoop() {
+        Set<String> pending = new LinkedHashSet<>();
+        try {
+            while (running) {
+                // 未反映の変更がある間は待ち時間を区切り、変更が途切れたら反映する
+                WatchKey key = pending.isEmpty()
+                    ? watchService.take()
+                    : watchService.poll(DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS);
+                if (key == null) {
+                    reload(pending);
+                    pending.clear();
+                    continue;
+                }
+                
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        pending.addAll(ConfigManager.snapshot().getAll().keySet());
+                    } else if (event.context() instanceof Path file) {
+                        String fileName = file.getFileName().toString();
+                        if (fileName.endsWith(FILE_SUFFIX)) {
+                            pending.add(fileName.substring(0, fileName.length() - FILE_SUFFIX.length()));
+                        }
+                    }
+                }
+                if (!key.reset()) {
+                    ifoe_bravers.LOGGER.warn("Config directory {} is no longer watchable", directory);
+                    break;
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // 停止
+        }
+    }
+    
+    private static void reload(Set<String> originNames) {
+        try {
+            ConfigManager.reloadOriginConfigs(originNames);
+        } catch (Exception e) {
+            ifoe_bravers.LOGGER.error("Failed to reload configs {}", originNames, e);
+        }
+    }
+}
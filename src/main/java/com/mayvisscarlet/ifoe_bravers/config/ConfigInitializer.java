@@ -1,10 +1,17 @@
 package com.mayvisscarlet.ifoe_bravers.config;
 
 import com.mayvisscarlet.ifoe_bravers.ifoe_bravers;
+import com.mayvisscarlet.ifoe_bravers.events.SkillExecutionEventHandler;
+import com.mayvisscarlet.ifoe_bravers.growth.AffinityCurve;
+import com.mayvisscarlet.ifoe_bravers.growth.AffinityCurves;
 import com.mayvisscarlet.ifoe_bravers.origins.patricia.PatriciaOriginConfig;
+import com.mayvisscarlet.ifoe_bravers.race.Race;
 
 import net.minecraftforge.fml.event.lifecycle.FMLCommonSetupEvent;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * 設定システムの初期化を管理するクラス
  */
@@ -20,6 +27,10 @@ public class ConfigInitializer {
         // 設定ディレクトリを作成
         ConfigManager.initializeConfigDirectory();
         
+        // 再読み込み時に設定から派生する状態を作り直す
+        ConfigManager.addReloadListener(version -> AffinityCurves.reload());
+        ConfigManager.addReloadListener(version -> SkillExecutionEventHandler.reloadConfig());
+        
         // 各種族のデフォルト設定を読み込み/作成
         event.enqueueWork(() -> {
             loadAllDefaultConfigs();
@@ -43,6 +54,12 @@ public class ConfigInitializer {
             // CarnisOriginConfig carnisConfig = ConfigManager.getCarnisConfig();
             // VoreyOriginConfig voreyConfig = ConfigManager.getVoreyConfig();
             
+            // 全種族の成長曲線をコンパイル
+            AffinityCurves.reload();
+            
+            // スキル実行中の制限設定
+            SkillExecutionEventHandler.reloadConfig();
+            
             ifoe_bravers.LOGGER.info("All default configs loaded successfully!");
             
         } catch (Exception e) {
@@ -51,32 +68,67 @@ public class ConfigInitializer {
     }
     
     /**
-     * 設定の妥当性をチェック
+     * 設定の妥当性をチェック（公開中の設定の問題を警告として出力）
      */
     public static void validateConfigs() {
         try {
-            PatriciaOriginConfig config = ConfigManager.getPatriciaConfig();
+            for (OriginConfig config : ConfigManager.snapshot().getAll().values()) {
+                validate(config).forEach(problem -> ifoe_bravers.LOGGER.warn("{}", problem));
+            }
+            
+            ifoe_bravers.LOGGER.info("Config validation completed");
             
+        } catch (Exception e) {
+            ifoe_bravers.LOGGER.error("Config validation failed", e);
+        }
+    }
+    
+    /**
+     * 設定の問題点を列挙（問題がない場合は空）
+     * 設定ファイルの変更を反映する前の検証にも使用する
+     */
+    public static List<String> validate(OriginConfig config) {
+        List<String> problems = new ArrayList<>();
+        
+        if (config.getSchema() == ConfigKeys.Patricia.SCHEMA) {
             // 重要な数値のチェック
-            if (config.getAffinityAttackCoefficient() < 0) {
-                ifoe_bravers.LOGGER.warn("Patricia affinity attack coefficient is negative: {}", 
-                    config.getAffinityAttackCoefficient());
+            if (config.get(ConfigKeys.Patricia.ATTACK_AFFINITY_COEFFICIENT) < 0) {
+                problems.add("Patricia affinity attack coefficient is negative: "
+                    + config.get(ConfigKeys.Patricia.ATTACK_AFFINITY_COEFFICIENT));
             }
             
-            if (config.getFireBaseMultiplier() < 1.0) {
-                ifoe_bravers.LOGGER.warn("Patricia fire base multiplier is less than 1.0: {}", 
-                    config.getFireBaseMultiplier());
+            if (config.get(ConfigKeys.Patricia.FIRE_BASE_MULTIPLIER) < 1.0) {
+                problems.add("Patricia fire base multiplier is less than 1.0: "
+                    + config.get(ConfigKeys.Patricia.FIRE_BASE_MULTIPLIER));
             }
             
-            if (config.getHighAffinityThreshold() <= 0) {
-                ifoe_bravers.LOGGER.warn("Patricia high affinity threshold is invalid: {}", 
-                    config.getHighAffinityThreshold());
+            if (config.get(ConfigKeys.Patricia.HIGH_AFFINITY_THRESHOLD) <= 0) {
+                problems.add("Patricia high affinity threshold is invalid: "
+                    + config.get(ConfigKeys.Patricia.HIGH_AFFINITY_THRESHOLD));
+            }
+        }
+        
+        // 成長曲線の定義
+        ConfigKey.StringKey curveKey = curveKeyOf(config.getSchema());
+        if (curveKey != null) {
+            try {
+                AffinityCurve.parse(config.get(curveKey));
+            } catch (IllegalArgumentException e) {
+                problems.add("Invalid affinity curve for " + config.getOriginName() + ": " + e.getMessage());
+            }
+        }
+        
+        return problems;
+    }
+    
+    private static ConfigKey.StringKey curveKeyOf(ConfigSchema schema) {
+        if (schema == null) return null;
+        for (Race race : Race.values()) {
+            ConfigKey.StringKey key = ConfigKeys.affinityCurve(race);
+            if (key != null && key.getSchema() == schema) {
+                return key;
             }
-            
-            ifoe_bravers.LOGGER.info("Config validation completed");
-            
-        } catch (Exception e) {
-            ifoe_bravers.LOGGER.error("Config validation failed", e);
         }
+        return null;
     }
-}
\ No newline at end of file
+}
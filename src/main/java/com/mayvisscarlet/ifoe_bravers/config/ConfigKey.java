@@ -0,0 +1,83 @@
+package com.mayvisscarlet.ifoe_bravers.config;
+
+/**
+ * 型付きの設定キー
+ * ConfigSchemaへの登録時に型ごとの格納位置（スロット）が決まり、
+ * OriginConfigからの取得は型別の配列の読み込みのみで行う
+ */
+public abstract class ConfigKey<T> {
+    
+    /**
+     * 値の型
+     */
+    public enum Kind { DOUBLE, INT, BOOLEAN, STRING }
+    
+    private final ConfigSchema schema;
+    private final String path;
+    final int slot;
+    
+    ConfigKey(ConfigSchema schema, String path, int slot) {
+        this.schema = schema;
+        this.path = path;
+        this.slot = slot;
+    }
+    
+    public ConfigSchema getSchema() { return schema; }
+    public String getPath() { return path; }
+    
+    public abstract Kind getKind();
+    public abstract T getDefault();
+    
+    @Override
+    public String toString() {
+        return schema.getName() + ":" + path;
+    }
+    
+    public static final class DoubleKey extends ConfigKey<Double> {
+        final double defaultValue;
+        
+        DoubleKey(ConfigSchema schema, String path, int slot, double defaultValue) {
+            super(schema, path, slot);
+            this.defaultValue = defaultValue;
+        }
+        
+        @Override public Kind getKind() { return Kind.DOUBLE; }
+        @Override public Double getDefault() { return defaultValue; }
+    }
+    
+    public static final class IntKey extends ConfigKey<Integer> {
+        final int defaultValue;
+        
+        IntKey(ConfigSchema schema, String path, int slot, int defaultValue) {
+            super(schema, path, slot);
+            this.defaultValue = defaultValue;
+        }
+        
+        @Override public Kind getKind() { return Kind.INT; }
+        @Override public Integer getDefault() { return defaultValue; }
+    }
+    
+    public static final class BooleanKey extends ConfigKey<Boolean> {
+        final boolean defaultValue;
+        
+        BooleanKey(ConfigSchema schema, String path, int slot, boolean defaultValue) {
+            super(schema, path, slot);
+            this.defaultValue = defaultValue;
+        }
+        
+        @Override public Kind getKind() { return Kind.BOOLEAN; }
+        @Override public Boolean getDefault() { return defaultValue; }
+    }
+    
+    public static final class StringKey extends ConfigKey<String> {
+        final String defaultValue;
+        
+        StringKey(ConfigSchema schema, String path, int slot, String defaultValue) {
+            super(schema, path, slot);
+            this.defaultValue = defaultValue;
+        }
+        
+        @Override public Kind getKind() { return Kind.STRING; }
+        @Override public String getDefault() { return defaultValue; }
+    }
+}
@@ -0,0 +1,149 @@
+package com.mayvisscarlet.ifoe_bravers.config;
+
+import com.mayvisscarlet.ifoe_bravers.growth.AffinityCurve;
+import com.mayvisscarlet.ifoe_bravers.growth.AffinityCurves;
+import com.mayvisscarlet.ifoe_bravers.race.Race;
+
+/**
+ * 全設定キーの定義（デフォルト値の一元管理）
+ * 各キーは読み込み時に型別配列のスロットへ解決されるため、取得時に文字列の検索は行わない
+ */
+public final class ConfigKeys {
+    
+    private ConfigKeys() {}
+    
+    /**
+     * 全種族共通の設定
+     */
+    public static final class Common {
+        public static final ConfigSchema SCHEMA = new ConfigSchema(ConfigManager.COMMON_CONFIG_NAME,
+            "Settings shared by all origins");
+        
+        // 経験値→親和値の換算方式（per_orb: 経験値獲得ごとに平方根 / summed: ティック内合計の平方根）
+        public static final ConfigKey.StringKey AFFINITY_XP_MODE = SCHEMA.stringKey("affinity.xp_mode", "per_orb");
+        
+        // クライアント同期の最小間隔（ティック、レベル変化時は即時）
+        public static final ConfigKey.IntKey AFFINITY_SYNC_INTERVAL_TICKS = SCHEMA.intKey("affinity.sync_interval_ticks", 10);
+        
+        // スキル実行中のエンティティ交流制限（none / vehicles_only / vehicles_and_npcs / all_entities）
+        public static final ConfigKey.StringKey SKILL_ENTITY_INTERACTION_RESTRICTION =
+            SCHEMA.stringKey("skill_system.entity_interaction_restriction", "vehicles_and_npcs");
+        
+        private Common() {}
+    }
+    
+    /**
+     * パトリシア
+     */
+    public static final class Patricia {
+        public static final ConfigSchema SCHEMA = new ConfigSchema("patricia",
+            "Ice warrior with growth system and weakness management");
+        
+        // パッシブ能力設定
+        public static final ConfigKey.DoubleKey ATTACK_AFFINITY_COEFFICIENT = SCHEMA.doubleKey("unwavering_winter.attack_power.affinity_coefficient", 0.4);
+        public static final ConfigKey.DoubleKey ATTACK_BASE_COEFFICIENT = SCHEMA.doubleKey("unwavering_winter.attack_power.base_coefficient", 0.1);
+        public static final ConfigKey.DoubleKey ATTACK_SPEED_MULTIPLIER = SCHEMA.doubleKey("unwavering_winter.attack_power.attack_speed_multiplier", 1.5);
+        public static final ConfigKey.DoubleKey ATTACK_BASE_VALUE = SCHEMA.doubleKey("unwavering_winter.attack_power.base_value", 4.0);
+        
+        public static final ConfigKey.DoubleKey COLD_BASE_DAMAGE_REDUCTION = SCHEMA.doubleKey("unwavering_winter.cold_biome_benefits.base_damage_reduction", 20.0);
+        public static final ConfigKey.DoubleKey COLD_AFFINITY_COEFFICIENT = SCHEMA.doubleKey("unwavering_winter.cold_biome_benefits.affinity_coefficient", 0.5);
+        public static final ConfigKey.DoubleKey COLD_MAX_DAMAGE_REDUCTION = SCHEMA.doubleKey("unwavering_winter.cold_biome_benefits.max_damage_reduction", 50.0);
+        public static final ConfigKey.DoubleKey COLD_TEMPERATURE_THRESHOLD = SCHEMA.doubleKey("unwavering_winter.cold_biome_benefits.temperature_threshold", 0.2);
+        
+        public static final ConfigKey.DoubleKey FIRE_BASE_MULTIPLIER = SCHEMA.doubleKey("heat_vulnerability.fire_damage.base_multiplier", 2.0);
+        public static final ConfigKey.DoubleKey FIRE_MIN_MULTIPLIER = SCHEMA.doubleKey("heat_vulnerability.fire_damage.min_multiplier", 1.5);
+        public static final ConfigKey.DoubleKey FIRE_AFFINITY_REDUCTION = SCHEMA.doubleKey("heat_vulnerability.fire_damage.affinity_reduction", 0.01);
+        
+        public static final ConfigKey.DoubleKey HOT_BASE_DAMAGE_INCREASE = SCHEMA.doubleKey("heat_vulnerability.hot_biome_penalties.base_damage_increase", 25.0);
+        public static final ConfigKey.DoubleKey HOT_AFFINITY_COEFFICIENT = SCHEMA.doubleKey("heat_vulnerability.hot_biome_penalties.affinity_coefficient", 0.8);
+        public static final ConfigKey.DoubleKey HOT_MIN_DAMAGE_INCREASE = SCHEMA.doubleKey("heat_vulnerability.hot_biome_penalties.min_damage_increase", 0.0);
+        public static final ConfigKey.DoubleKey HOT_TEMPERATURE_THRESHOLD = SCHEMA.doubleKey("heat_vulnerability.hot_biome_penalties.temperature_threshold", 1.0);
+        
+        public static final ConfigKey.DoubleKey RECOVERY_BASE_DURATION = SCHEMA.doubleKey("heat_vulnerability.recovery_bonus.base_duration", 5.0);
+        public static final ConfigKey.DoubleKey RECOVERY_DURATION_COEFFICIENT = SCHEMA.doubleKey("heat_vulnerability.recovery_bonus.duration_coefficient", 0.5);
+        public static final ConfigKey.DoubleKey RECOVERY_AMOUNT_COEFFICIENT = SCHEMA.doubleKey("heat_vulnerability.recovery_bonus.amount_coefficient", 2.0);
+        public static final ConfigKey.DoubleKey RECOVERY_MAX_INCREASE = SCHEMA.doubleKey("heat_vulnerability.recovery_bonus.max_increase", 100.0);
+        
+        // 成長曲線（"開始レベル:必要親和値:増分" の区間をカンマ区切り）
+        public static final ConfigKey.StringKey AFFINITY_CURVE = SCHEMA.stringKey(AffinityCurves.CONFIG_KEY, AffinityCurve.DEFAULT_SPEC);
+        
+        // マイルストーン設定
+        public static final ConfigKey.IntKey HIGH_AFFINITY_THRESHOLD = SCHEMA.intKey("growth_system.milestones.high_affinity_threshold", 30);
+        public static final ConfigKey.IntKey ADVANCED_THRESHOLD = SCHEMA.intKey("growth_system.milestones.advanced_threshold", 50);
+        
+        // デバッグ設定
+        public static final ConfigKey.BooleanKey SHOW_PASSIVE_MESSAGES = SCHEMA.booleanKey("debug.show_passive_messages", false);
+        
+        private Patricia() {}
+    }
+    
+    /**
+     * ユラ（将来実装）
+     */
+    public static final class Yura {
+        public static final ConfigSchema SCHEMA = new ConfigSchema("yura", "Agile warrior with speed-based abilities");
+        
+        // 将来の実装用プレースホルダー
+        public static final ConfigKey.DoubleKey SPEED_BOOST = SCHEMA.doubleKey("agility_system.speed_boost", 1.5);
+        public static final ConfigKey.IntKey THRESHOLD = SCHEMA.intKey("agility_system.threshold", 25);
+        public static final ConfigKey.StringKey AFFINITY_CURVE = SCHEMA.stringKey(AffinityCurves.CONFIG_KEY, AffinityCurve.DEFAULT_SPEC);
+        
+        private Yura() {}
+    }
+    
+    /**
+     * カーニス（将来実装）
+     */
+    public static final class Carnis {
+        public static final ConfigSchema SCHEMA = new ConfigSchema("carnis", "Strength-based warrior with defensive capabilities");
+        
+        // 将来の実装用プレースホルダー
+        public static final ConfigKey.DoubleKey MULTIPLIER = SCHEMA.doubleKey("strength_system.multiplier", 1.8);
+        public static final ConfigKey.IntKey THRESHOLD = SCHEMA.intKey("strength_system.threshold", 35);
+        public static final ConfigKey.StringKey AFFINITY_CURVE = SCHEMA.stringKey(AffinityCurves.CONFIG_KEY, AffinityCurve.DEFAULT_SPEC);
+        
+        private Carnis() {}
+    }
+    
+    /**
+     * ヴォレイ（将来実装）
+     */
+    public static final class Vorey {
+        public static final ConfigSchema SCHEMA = new ConfigSchema("vorey", "Magic-based warrior with elemental affinities");
+        
+        // 将来の実装用プレースホルダー
+        public static final ConfigKey.DoubleKey AMPLIFIER = SCHEMA.doubleKey("magic_system.amplifier", 2.0);
+        public static final ConfigKey.IntKey THRESHOLD = SCHEMA.intKey("magic_system.threshold", 40);
+        public static final ConfigKey.StringKey AFFINITY_CURVE = SCHEMA.stringKey(AffinityCurves.CONFIG_KEY, AffinityCurve.DEFAULT_SPEC);
+        
+        private Vorey() {}
+    }
+    
+    /**
+     * 種族の成長曲線キー（種族なしの場合はnull）
+     */
+    public static ConfigKey.StringKey affinityCurve(Race race) {
+        return switch (race) {
+            case PATRICIA -> Patricia.AFFINITY_CURVE;
+            case YURA -> Yura.AFFINITY_CURVE;
+            case CARNIS -> Carnis.AFFINITY_CURVE;
+            case VOREY -> Vorey.AFFINITY_CURVE;
+            default -> null;
+        };
+    }
+    
+    /**
+     * 全スキーマを登録（各クラスの静的初期化を確実に実行する）
+     */
+    static void bootstrap() {
+        Holder.touch();
+    }
+    
+    private static final class Holder {
+        private static final ConfigSchema[] ALL = {
+            Common.SCHEMA, Patricia.SCHEMA, Yura.SCHEMA, Carnis.SCHEMA, Vorey.SCHEMA
+        };
+        
+        static void touch() {}
+    }
+}
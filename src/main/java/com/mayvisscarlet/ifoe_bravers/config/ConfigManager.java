@@ -6,34 +6,51 @@ import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 import com.mayvisscarlet.ifoe_bravers.ifoe_bravers;
 import com.mayvisscarlet.ifoe_bravers.origins.patricia.PatriciaOriginConfig;
+import net.minecraft.Util;
 import net.minecraftforge.fml.loading.FMLPaths;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
 
 /**
  * デフォルト値一元管理型JSON設定ファイル管理クラス
- * 各種族のデフォルト値を一箇所で管理し、種族別Configに提供
+ * 各種族のキーとデフォルト値はConfigKeysで一元管理し、種族別Configに提供
+ * 読み込んだ設定は変更不可のConfigSnapshotとして公開し、再読み込み・更新時は新しいスナップショットに差し替える
+ * 新しいスナップショットはロックの外で構築し、構築元が公開中のままの場合のみ差し替える（publish）
+ * データパック（OriginDataLoader）の値はスナップショットが設定ファイルの値と別に保持して上に重ね、設定ファイルには書き込まない
  */
 public class ConfigManager {
     
     private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
     private static final Path CONFIG_DIR = FMLPaths.CONFIGDIR.get().resolve(ifoe_bravers.MODID);
     
-    // 種族別設定キャッシュ
-    private static final Map<String, OriginConfig> CONFIG_CACHE = new HashMap<>();
+    // 全種族共通設定の名前
+    public static final String COMMON_CONFIG_NAME = "common";
     
-    // デフォルト値マップ（種族名 -> 設定キー -> 値）
-    private static final Map<String, Map<String, Object>> DEFAULT_VALUES = new HashMap<>();
+    // 公開中の設定（読み取りはロックなし、差し替えはpublishによる比較交換）
+    private static final AtomicReference<ConfigSnapshot> SNAPSHOT = new AtomicReference<>();
+    // 初回読み込みの重複防止用
+    private static final Object INITIAL_LOAD_LOCK = new Object();
+    
+    private static final List<ReloadListener> RELOAD_LISTENERS = new CopyOnWriteArrayList<>();
     
     /**
-     * デフォルト値を初期化
+     * 設定の変更通知（新しいスナップショットの公開後、公開したスレッドから呼ばれる）
      */
-    static {
-        initializeDefaultValues();
+    @FunctionalInterface
+    public interface ReloadListener {
+        void onConfigReloaded(int version);
     }
     
     /**
@@ -51,14 +68,107 @@ public class ConfigManager {
     }
     
     /**
-     * 指定された種族の設定を読み込み
+     * 設定ディレクトリ
+     */
+    public static Path getConfigDirectory() {
+        return CONFIG_DIR;
+    }
+    
+    /**
+     * 変更通知を登録
+     */
+    public static void addReloadListener(ReloadListener listener) {
+        RELOAD_LISTENERS.add(listener);
+    }
+    
+    /**
+     * 公開中のスナップショットを取得（初回のみ全種族の設定を読み込む）
+     */
+    public static ConfigSnapshot snapshot() {
+        ConfigSnapshot snapshot = SNAPSHOT.get();
+        return snapshot != null ? snapshot : loadInitialSnapshot();
+    }
+    
+    private static ConfigSnapshot loadInitialSnapshot() {
+        synchronized (INITIAL_LOAD_LOCK) {
+            ConfigSnapshot snapshot = SNAPSHOT.get();
+            if (snapshot == null) {
+                snapshot = new ConfigSnapshot(1, readAllConfigs(List.of()), Map.of());
+                SNAPSHOT.set(snapshot);
+            }
+            return snapshot;
+        }
+    }
+    
+    /**
+     * 指定された種族の設定を取得
+     * スキーマのない種族は初回のみファイルから読み込み、スナップショットに追加する
      */
     public static OriginConfig loadOriginConfig(String originName) {
-        // キャッシュから取得を試行
-        if (CONFIG_CACHE.containsKey(originName)) {
-            return CONFIG_CACHE.get(originName);
+        OriginConfig config = snapshot().get(originName);
+        if (config != null) {
+            return config;
         }
         
+        OriginConfig loaded = readOriginConfig(originName);
+        publish(base -> base.get(originName) != null ? null : base.with(base.getVersion() + 1, originName, loaded));
+        return snapshot().get(originName);
+    }
+    
+    /**
+     * 公開中のスナップショットを元に新しいスナップショットを構築して公開する
+     * 構築（ファイルI/O・解析・テーブル構築）はロックを取らずに行い、構築元が公開中のままの場合のみ差し替える
+     * 構築中に他の更新が公開された場合は、その更新を含むスナップショットを元に構築し直す
+     * @param builder 構築元から版数+1のスナップショットを構築する（公開しない場合はnull）
+     * @return 公開したスナップショット（公開しなかった場合はnull）
+     */
+    private static ConfigSnapshot publish(UnaryOperator<ConfigSnapshot> builder) {
+        while (true) {
+            ConfigSnapshot base = snapshot();
+            ConfigSnapshot next = builder.apply(base);
+            if (next == null) {
+                return null;
+            }
+            if (SNAPSHOT.compareAndSet(base, next)) {
+                return next;
+            }
+        }
+    }
+    
+    /**
+     * 全種族の設定をファイルから読み込む（スキーマの定義順、続いてスキーマのない種族、データパックの値は含まない）
+     */
+    private static Map<String, OriginConfig> readAllConfigs(Collection<String> extraOrigins) {
+        Map<String, OriginConfig> configs = new LinkedHashMap<>();
+        for (ConfigSchema schema : ConfigSchema.all()) {
+            configs.put(schema.getName(), readOriginConfig(schema.getName()));
+        }
+        for (String originName : extraOrigins) {
+            configs.computeIfAbsent(originName, ConfigManager::readOriginConfig);
+        }
+        return configs;
+    }
+    
+    /**
+     * 設定ファイルの値にデータパックの値を重ねる（データパックに値がない場合はそのまま返す）
+     * 設定ファイルの値は変更せず、重ねる場合は複製に反映する
+     */
+    static OriginConfig withDatapackValues(String originName, OriginConfig fileConfig,
+                                           Map<String, Map<String, Object>> layer) {
+        Map<String, Object> values = layer.get(originName);
+        if (values == null || values.isEmpty()) {
+            return fileConfig;
+        }
+        OriginConfig config = fileConfig.copy();
+        applyValues(config, values, new ArrayList<>());
+        return config;
+    }
+    
+    /**
+     * 指定された種族の設定ファイルを読み込み（存在しない場合はデフォルト設定を作成して保存）
+     * データパックの値は含まない
+     */
+    static OriginConfig readOriginConfig(String originName) {
         Path configFile = CONFIG_DIR.resolve(originName + "_config.json");
         OriginConfig config;
         
@@ -67,7 +177,7 @@ public class ConfigManager {
                 // 既存の設定ファイルを読み込み
                 String jsonContent = Files.readString(configFile);
                 JsonObject jsonObject = JsonParser.parseString(jsonContent).getAsJsonObject();
-                config = parseOriginConfig(jsonObject, originName);
+                config = parseOriginConfig(jsonObject, originName, new ArrayList<>());
                 ifoe_bravers.LOGGER.info("Loaded config for {}: {}", originName, configFile);
             } else {
                 // デフォルト設定を作成
@@ -80,8 +190,6 @@ public class ConfigManager {
             config = createDefaultConfig(originName);
         }
         
-        // キャッシュに保存
-        CONFIG_CACHE.put(originName, config);
         return config;
     }
     
@@ -95,29 +203,147 @@ public class ConfigManager {
             JsonObject jsonObject = config.toJsonObject();
             String jsonString = GSON.toJson(jsonObject);
             Files.writeString(configFile, jsonString);
-            
-            // キャッシュを更新
-            CONFIG_CACHE.put(originName, config);
             ifoe_bravers.LOGGER.info("Saved config for {}: {}", originName, configFile);
         } catch (Exception e) {
             ifoe_bravers.LOGGER.error("Failed to save config for {}", originName, e);
         }
     }
     
+    /**
+     * スキーマの設定を取得（参照の読み込みと配列アクセスのみ）
+     */
+    public static OriginConfig getConfig(ConfigSchema schema) {
+        OriginConfig config = snapshot().get(schema);
+        return config != null ? config : loadOriginConfig(schema.getName());
+    }
+    
+    /**
+     * 型付きキーの値を取得
+     */
+    public static double get(ConfigKey.DoubleKey key) { return getConfig(key.getSchema()).get(key); }
+    public static int get(ConfigKey.IntKey key) { return getConfig(key.getSchema()).get(key); }
+    public static boolean get(ConfigKey.BooleanKey key) { return getConfig(key.getSchema()).get(key); }
+    public static String get(ConfigKey.StringKey key) { return getConfig(key.getSchema()).get(key); }
+    
     /**
      * すべての設定を再読み込み
+     * ファイルの読み込みと新しいスナップショットの構築はバックグラウンドで行い、完成後に1回で差し替える
+     * 構築中に他の更新が公開された場合は読み込みからやり直す
+     * 完了時の値は新しい版数
+     */
+    public static CompletableFuture<Integer> reloadAllConfigs() {
+        return CompletableFuture.supplyAsync(() -> {
+            ConfigSnapshot next = publish(base -> new ConfigSnapshot(
+                base.getVersion() + 1, readAllConfigs(base.getAll().keySet()), base.getDatapackValues()));
+            ifoe_bravers.LOGGER.info("Reloaded all origin configs (version {})", next.getVersion());
+            notifyReloadListeners(next.getVersion());
+            return next.getVersion();
+        }, Util.backgroundExecutor());
+    }
+    
+    /**
+     * 指定された種族の設定ファイルを読み込み直し、検証に通ったものだけを反映して公開（ConfigFileWatcherから呼び出し）
+     * 解析・検証に失敗したファイルは反映せず、公開中の設定を維持する
+     * @return 公開した版数（反映するものがなかった場合は-1）
      */
-    public static void reloadAllConfigs() {
-        CONFIG_CACHE.clear();
-        ifoe_bravers.LOGGER.info("Reloaded all origin configs");
+    public static int reloadOriginConfigs(Collection<String> originNames) {
+        Map<String, OriginConfig> candidates = new LinkedHashMap<>();
+        for (String originName : originNames) {
+            if (snapshot().get(originName) == null && ConfigSchema.forName(originName) == null) continue;
+            
+            Path configFile = CONFIG_DIR.resolve(originName + "_config.json");
+            if (!Files.exists(configFile)) continue;
+            
+            try {
+                List<String> rejectedKeys = new ArrayList<>();
+                OriginConfig candidate = parseOriginConfig(JsonParser.parseString(Files.readString(configFile)).getAsJsonObject(),
+                    originName, rejectedKeys);
+                if (!rejectedKeys.isEmpty()) {
+                    throw new IllegalArgumentException("wrong value type for " + rejectedKeys);
+                }
+                candidate.freeze();
+                candidates.put(originName, candidate);
+            } catch (IOException | RuntimeException e) {
+                ifoe_bravers.LOGGER.warn("Rejected edit of {}: {} - keeping the current config", configFile, e.getMessage());
+            }
+        }
+        if (candidates.isEmpty()) {
+            return -1;
+        }
+        
+        // データパックの値は構築元のスナップショットのものを重ねて検証する
+        List<String> changed = new ArrayList<>();
+        ConfigSnapshot next = publish(base -> {
+            changed.clear();
+            Map<String, OriginConfig> fileConfigs = new LinkedHashMap<>(base.getFileConfigs());
+            candidates.forEach((originName, candidate) -> {
+                OriginConfig merged = withDatapackValues(originName, candidate, base.getDatapackValues());
+                List<String> problems = ConfigInitializer.validate(merged);
+                if (!problems.isEmpty()) {
+                    ifoe_bravers.LOGGER.warn("Rejected edit of {}_config.json: {} - keeping the current config", originName, problems);
+                    return;
+                }
+                
+                // 自身の保存によるイベントなど、内容が変わっていない場合は公開しない
+                OriginConfig existing = base.get(originName);
+                if (existing != null && existing.toJsonObject().equals(merged.toJsonObject())) return;
+                fileConfigs.put(originName, candidate);
+                changed.add(originName);
+            });
+            return changed.isEmpty() ? null : new ConfigSnapshot(base.getVersion() + 1, fileConfigs, base.getDatapackValues());
+        });
+        
+        if (next == null) {
+            return -1;
+        }
+        ifoe_bravers.LOGGER.info("Reloaded configs {} (version {})", changed, next.getVersion());
+        notifyReloadListeners(next.getVersion());
+        return next.getVersion();
     }
     
     /**
-     * パトリシア用の設定を取得
+     * データパックの値を重ねたスナップショットを公開（OriginDataLoaderの適用段階から呼び出し）
+     * 準備段階の構築元が公開中のままなら構築済みのスナップショットに版数を付与して差し替える
+     * 準備中に設定ファイルの再読み込み・更新が公開された場合は、その設定ファイルの値にデータパックの値を重ね直す
+     */
+    static int publishDatapackConfigs(Map<String, Map<String, Object>> values, int baseVersion, ConfigSnapshot prepared) {
+        ConfigSnapshot next = publish(base -> base.getVersion() == baseVersion
+            ? prepared.withVersion(base.getVersion() + 1)
+            : base.withDatapackValues(base.getVersion() + 1, values));
+        ifoe_bravers.LOGGER.info("Applied datapack origin values for {} (version {})", values.keySet(), next.getVersion());
+        notifyReloadListeners(next.getVersion());
+        return next.getVersion();
+    }
+    
+    /**
+     * 公開中のデータパックの値（種族名→キー→値）
+     */
+    public static Map<String, Map<String, Object>> getDatapackValues() {
+        return snapshot().getDatapackValues();
+    }
+    
+    private static void notifyReloadListeners(int version) {
+        for (ReloadListener listener : RELOAD_LISTENERS) {
+            try {
+                listener.onConfigReloaded(version);
+            } catch (Exception e) {
+                ifoe_bravers.LOGGER.error("Config reload listener failed", e);
+            }
+        }
+    }
+    
+    /**
+     * パトリシア用の設定を取得（スナップショットが保持するものを返す）
      */
     public static PatriciaOriginConfig getPatriciaConfig() {
-        OriginConfig baseConfig = loadOriginConfig("patricia");
-        return new PatriciaOriginConfig(baseConfig);
+        return snapshot().getPatricia();
+    }
+    
+    /**
+     * 全種族共通の設定を取得
+     */
+    public static OriginConfig getCommonConfig() {
+        return getConfig(ConfigKeys.Common.SCHEMA);
     }
     
     /**
@@ -125,18 +351,19 @@ public class ConfigManager {
      * PatriciaOriginConfig等から呼び出される
      */
     public static Object getDefaultValue(String originName, String key) {
-        Map<String, Object> originDefaults = DEFAULT_VALUES.get(originName.toLowerCase());
-        if (originDefaults == null) {
+        ConfigSchema schema = ConfigSchema.forName(originName);
+        if (schema == null) {
             ifoe_bravers.LOGGER.warn("No default values found for origin: {}", originName);
             return null;
         }
         
-        Object value = originDefaults.get(key);
-        if (value == null) {
+        ConfigKey<?> configKey = schema.getKey(key);
+        if (configKey == null) {
             ifoe_bravers.LOGGER.debug("No default value found for {}:{}", originName, key);
+            return null;
         }
         
-        return value;
+        return configKey.getDefault();
     }
     
     /**
@@ -174,162 +401,54 @@ public class ConfigManager {
         return fallback;
     }
     
-    /**
-     * デフォルト値を初期化（一元管理）
-     */
-    private static void initializeDefaultValues() {
-        // パトリシアのデフォルト値
-        Map<String, Object> patriciaDefaults = new HashMap<>();
-        
-        // 基本情報
-        patriciaDefaults.put("origin_name", "patricia");
-        patriciaDefaults.put("description", "Ice warrior with growth system and weakness management");
-        patriciaDefaults.put("version", "1.0.0");
-        
-        // パッシブ能力設定
-        patriciaDefaults.put("unwavering_winter.attack_power.affinity_coefficient", 0.4);
-        patriciaDefaults.put("unwavering_winter.attack_power.base_coefficient", 0.1);
-        patriciaDefaults.put("unwavering_winter.attack_power.attack_speed_multiplier", 1.5);
-        patriciaDefaults.put("unwavering_winter.attack_power.base_value", 4.0);
-        
-        patriciaDefaults.put("unwavering_winter.cold_biome_benefits.base_damage_reduction", 20.0);
-        patriciaDefaults.put("unwavering_winter.cold_biome_benefits.affinity_coefficient", 0.5);
-        patriciaDefaults.put("unwavering_winter.cold_biome_benefits.max_damage_reduction", 50.0);
-        patriciaDefaults.put("unwavering_winter.cold_biome_benefits.temperature_threshold", 0.2);
-        
-        patriciaDefaults.put("heat_vulnerability.fire_damage.base_multiplier", 2.0);
-        patriciaDefaults.put("heat_vulnerability.fire_damage.min_multiplier", 1.5);
-        patriciaDefaults.put("heat_vulnerability.fire_damage.affinity_reduction", 0.01);
-        
-        patriciaDefaults.put("heat_vulnerability.hot_biome_penalties.base_damage_increase", 25.0);
-        patriciaDefaults.put("heat_vulnerability.hot_biome_penalties.affinity_coefficient", 0.8);
-        patriciaDefaults.put("heat_vulnerability.hot_biome_penalties.min_damage_increase", 0.0);
-        patriciaDefaults.put("heat_vulnerability.hot_biome_penalties.temperature_threshold", 1.0);
-        
-        patriciaDefaults.put("heat_vulnerability.recovery_bonus.base_duration", 5.0);
-        patriciaDefaults.put("heat_vulnerability.recovery_bonus.duration_coefficient", 0.5);
-        patriciaDefaults.put("heat_vulnerability.recovery_bonus.amount_coefficient", 2.0);
-        patriciaDefaults.put("heat_vulnerability.recovery_bonus.max_increase", 100.0);
-        
-        // マイルストーン設定
-        patriciaDefaults.put("growth_system.milestones.high_affinity_threshold", 30);
-        patriciaDefaults.put("growth_system.milestones.advanced_threshold", 50);
-        
-        // デバッグ設定
-        patriciaDefaults.put("debug.show_passive_messages", false);
-        
-        DEFAULT_VALUES.put("patricia", patriciaDefaults);
-        
-        // 将来の種族用のデフォルト値を準備
-        initializeYuraDefaults();
-        initializeCarnisDefaults();
-        initializeVoreyDefaults();
-        
-        ifoe_bravers.LOGGER.info("Initialized default values for {} origins", DEFAULT_VALUES.size());
-    }
-    
-    /**
-     * ユラのデフォルト値（将来実装）
-     */
-    private static void initializeYuraDefaults() {
-        Map<String, Object> yuraDefaults = new HashMap<>();
-        yuraDefaults.put("origin_name", "yura");
-        yuraDefaults.put("description", "Agile warrior with speed-based abilities");
-        yuraDefaults.put("version", "1.0.0");
-        
-        // 将来の実装用プレースホルダー
-        yuraDefaults.put("agility_system.speed_boost", 1.5);
-        yuraDefaults.put("agility_system.threshold", 25);
-        
-        DEFAULT_VALUES.put("yura", yuraDefaults);
-    }
-    
-    /**
-     * カーニスのデフォルト値（将来実装）
-     */
-    private static void initializeCarnisDefaults() {
-        Map<String, Object> carnisDefaults = new HashMap<>();
-        carnisDefaults.put("origin_name", "carnis");
-        carnisDefaults.put("description", "Strength-based warrior with defensive capabilities");
-        carnisDefaults.put("version", "1.0.0");
-        
-        // 将来の実装用プレースホルダー
-        carnisDefaults.put("strength_system.multiplier", 1.8);
-        carnisDefaults.put("strength_system.threshold", 35);
-        
-        DEFAULT_VALUES.put("carnis", carnisDefaults);
-    }
-    
-    /**
-     * ヴォレイのデフォルト値（将来実装）
-     */
-    private static void initializeVoreyDefaults() {
-        Map<String, Object> voreyDefaults = new HashMap<>();
-        voreyDefaults.put("origin_name", "vorey");
-        voreyDefaults.put("description", "Magic-based warrior with elemental affinities");
-        voreyDefaults.put("version", "1.0.0");
-        
-        // 将来の実装用プレースホルダー
-        voreyDefaults.put("magic_system.amplifier", 2.0);
-        voreyDefaults.put("magic_system.threshold", 40);
-        
-        DEFAULT_VALUES.put("vorey", voreyDefaults);
-    }
-    
     /**
      * デフォルト設定をテンプレートから作成
      */
     private static OriginConfig createDefaultConfig(String originName) {
-        Map<String, Object> defaults = DEFAULT_VALUES.get(originName.toLowerCase());
+        ConfigSchema schema = ConfigSchema.forName(originName);
         
-        if (defaults == null) {
+        if (schema == null) {
             ifoe_bravers.LOGGER.warn("No default values found for origin: {}", originName);
             return new OriginConfig();
         }
         
-        OriginConfig config = new OriginConfig();
-        config.originName = (String) defaults.getOrDefault("origin_name", originName);
-        config.description = (String) defaults.getOrDefault("description", "No description");
-        config.version = (String) defaults.getOrDefault("version", "1.0.0");
-        
-        // すべてのデフォルト値をコピー
-        defaults.entrySet().stream()
-            .filter(entry -> !entry.getKey().equals("origin_name") && 
-                           !entry.getKey().equals("description") && 
-                           !entry.getKey().equals("version"))
-            .forEach(entry -> config.addValue(entry.getKey(), entry.getValue()));
+        // スキーマのデフォルト値で初期化
+        OriginConfig config = new OriginConfig(schema);
+        config.setMetadata(schema.getName(), schema.getDescription(), "1.0.0");
         
         return config;
     }
     
     /**
      * JSONからOriginConfigを解析（デフォルト値ベース）
+     * 型が合わず無視したキーはrejectedKeysに追加する
      */
-    private static OriginConfig parseOriginConfig(JsonObject jsonObject, String originName) {
+    private static OriginConfig parseOriginConfig(JsonObject jsonObject, String originName, List<String> rejectedKeys) {
         // まずデフォルト設定を取得
         OriginConfig config = createDefaultConfig(originName);
         
         // JSONから値を上書き
-        if (jsonObject.has("origin_name")) {
-            config.originName = jsonObject.get("origin_name").getAsString();
-        }
-        if (jsonObject.has("description")) {
-            config.description = jsonObject.get("description").getAsString();
-        }
-        if (jsonObject.has("version")) {
-            config.version = jsonObject.get("version").getAsString();
-        }
+        config.setMetadata(
+            jsonObject.has("origin_name") ? jsonObject.get("origin_name").getAsString() : config.getOriginName(),
+            jsonObject.has("description") ? jsonObject.get("description").getAsString() : config.getDescription(),
+            jsonObject.has("version") ? jsonObject.get("version").getAsString() : config.getVersion());
         
         // 設定値を再帰的に解析してマージ
-        parseJsonValues(jsonObject, "", config);
+        applyValues(config, flattenJsonValues(jsonObject), rejectedKeys);
         
         return config;
     }
     
     /**
-     * JSONの値を再帰的に解析してOriginConfigに格納
+     * JSONの値を「親.子」形式のキーに平坦化（メタデータは除く）
      */
-    private static void parseJsonValues(JsonObject jsonObject, String prefix, OriginConfig config) {
+    static Map<String, Object> flattenJsonValues(JsonObject jsonObject) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        flattenJsonValues(jsonObject, "", values);
+        return values;
+    }
+    
+    private static void flattenJsonValues(JsonObject jsonObject, String prefix, Map<String, Object> values) {
         jsonObject.entrySet().forEach(entry -> {
             String key = prefix.isEmpty() ? entry.getKey() : prefix + "." + entry.getKey();
             
@@ -339,28 +458,45 @@ public class ConfigManager {
             }
             
             if (entry.getValue().isJsonObject()) {
-                parseJsonValues(entry.getValue().getAsJsonObject(), key, config);
+                flattenJsonValues(entry.getValue().getAsJsonObject(), key, values);
             } else if (entry.getValue().isJsonPrimitive()) {
                 if (entry.getValue().getAsJsonPrimitive().isNumber()) {
-                    config.addValue(key, entry.getValue().getAsDouble());
+                    values.put(key, entry.getValue().getAsDouble());
                 } else if (entry.getValue().getAsJsonPrimitive().isBoolean()) {
-                    config.addValue(key, entry.getValue().getAsBoolean());
+                    values.put(key, entry.getValue().getAsBoolean());
                 } else {
-                    config.addValue(key, entry.getValue().getAsString());
+                    values.put(key, entry.getValue().getAsString());
                 }
             }
         });
     }
     
+    /**
+     * 平坦化した値をOriginConfigに格納（型が合わず無視したキーはrejectedKeysに追加）
+     */
+    static void applyValues(OriginConfig config, Map<String, Object> values, List<String> rejectedKeys) {
+        values.forEach((key, value) -> {
+            if (!config.addValue(key, value)) {
+                rejectedKeys.add(key);
+            }
+        });
+    }
+    
     /**
      * 設定値の一括更新（管理者用）
+     * 公開中の設定は変更せず、複製に反映したスナップショットを公開する
      */
     public static void updateOriginConfigValue(String originName, String key, Object value) {
-        OriginConfig config = loadOriginConfig(originName);
+        // 設定ファイルにはデータパックの値を含めない
+        OriginConfig config = readOriginConfig(originName);
         config.addValue(key, value);
         saveOriginConfig(originName, config);
+        config.freeze();
+        
+        ConfigSnapshot next = publish(base -> base.with(base.getVersion() + 1, originName, config));
         
         ifoe_bravers.LOGGER.info("Updated config value for {}: {} = {}", originName, key, value);
+        notifyReloadListeners(next.getVersion());
     }
     
     /**
@@ -369,11 +505,12 @@ public class ConfigManager {
     public static Map<String, String> getAllOriginConfigSummary() {
         Map<String, String> summary = new HashMap<>();
         
-        DEFAULT_VALUES.keySet().forEach(originName -> {
+        ConfigSchema.all().forEach(schema -> {
+            String originName = schema.getName();
             try {
                 OriginConfig config = loadOriginConfig(originName);
                 summary.put(originName, String.format("%s v%s - %s", 
-                    config.originName, config.version, config.description));
+                    config.getOriginName(), config.getVersion(), config.getDescription()));
             } catch (Exception e) {
                 summary.put(originName, "Error loading config: " + e.getMessage());
             }
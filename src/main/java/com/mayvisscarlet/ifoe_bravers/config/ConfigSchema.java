@@ -0,0 +1,107 @@
+package com.mayvisscarlet.ifoe_bravers.config;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 種族（設定ファイル）ごとのキー定義
+ * キーを登録順に型別のスロットへ割り当てる。キーの宣言はConfigKeysで行う
+ */
+public final class ConfigSchema {
+    
+    private static final Map<String, ConfigSchema> BY_NAME = new LinkedHashMap<>();
+    
+    private final int index;       // 定義順の番号（スナップショット内の配列の添字）
+    private final String name;
+    private final String description;
+    private final List<ConfigKey<?>> keys = new ArrayList<>();
+    private final Map<String, ConfigKey<?>> keysByPath = new HashMap<>();
+    private int doubleSlots;
+    private int intSlots;
+    private int booleanSlots;
+    private int stringSlots;
+    
+    ConfigSchema(String name, String description) {
+        this.name = name;
+        this.description = description;
+        synchronized (BY_NAME) {
+            this.index = BY_NAME.size();
+            BY_NAME.put(name, this);
+        }
+    }
+    
+    // ========================================
+    // キー登録（ConfigKeysの静的初期化から呼び出し）
+    // ========================================
+    
+    ConfigKey.DoubleKey doubleKey(String path, double defaultValue) {
+        return register(new ConfigKey.DoubleKey(this, path, doubleSlots++, defaultValue));
+    }
+    
+    ConfigKey.IntKey intKey(String path, int defaultValue) {
+        return register(new ConfigKey.IntKey(this, path, intSlots++, defaultValue));
+    }
+    
+    ConfigKey.BooleanKey booleanKey(String path, boolean defaultValue) {
+        return register(new ConfigKey.BooleanKey(this, path, booleanSlots++, defaultValue));
+    }
+    
+    ConfigKey.StringKey stringKey(String path, String defaultValue) {
+        return register(new ConfigKey.StringKey(this, path, stringSlots++, defaultValue));
+    }
+    
+    private <K extends ConfigKey<?>> K register(K key) {
+        if (keysByPath.putIfAbsent(key.getPath(), key) != null) {
+            throw new IllegalStateException("Duplicate config key: " + key);
+        }
+        keys.add(key);
+        return key;
+    }
+    
+    // ========================================
+    // 参照
+    // ========================================
+    
+    public String getName() { return name; }
+    public String getDescription() { return description; }
+    public List<ConfigKey<?>> getKeys() { return Collections.unmodifiableList(keys); }
+    
+    /**
+     * パスからキーを取得（未定義の場合はnull）
+     */
+    public ConfigKey<?> getKey(String path) {
+        return keysByPath.get(path);
+    }
+    
+    int index() { return index; }
+    int doubleSlots() { return doubleSlots; }
+    int intSlots() { return intSlots; }
+    int booleanSlots() { return booleanSlots; }
+    int stringSlots() { return stringSlots; }
+    
+    /**
+     * 名前からスキーマを取得（未定義の場合はnull）
+     */
+    public static ConfigSchema forName(String name) {
+        ConfigKeys.bootstrap();
+        synchronized (BY_NAME) {
+            return BY_NAME.get(name.toLowerCase(Locale.ROOT));
+        }
+    }
+    
+    /**
+     * 定義済みの全スキーマ
+     */
+    public static Collection<ConfigSchema> all() {
+        ConfigKeys.bootstrap();
+        synchronized (BY_NAME) {
+            return List.copyOf(BY_NAME.values());
+        }
+    }
+}
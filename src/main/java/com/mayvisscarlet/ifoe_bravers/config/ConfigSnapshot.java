@@ -0,0 +1,140 @@
+package com.mayvisscarlet.ifoe_bravers.config;
+
+import com.mayvisscarlet.ifoe_bravers.origins.patricia.PatriciaOriginConfig;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * ある時点の全種族設定（変更不可）
+ * ConfigManagerが参照1つで丸ごと差し替え、読み取り側はロックも生成も行わずに参照する
+ * 設定を変更する場合は新しいスナップショットを作成する
+ * 設定ファイルの値（ファイル層）とデータパックの値を別々に保持し、公開する設定はファイル層にデータパックの値を重ねたもの
+ */
+public final class ConfigSnapshot {
+    
+    private final int version;
+    private final OriginConfig[] bySchema;          // ConfigSchemaの定義順
+    private final Map<String, OriginConfig> byName; // スキーマのない設定を含む全設定
+    private final Map<String, OriginConfig> fileConfigs;            // データパックの値を含まない設定
+    private final Map<String, Map<String, Object>> datapackValues;  // 種族名→キー→値
+    private final PatriciaOriginConfig patricia;
+    
+    ConfigSnapshot(int version, Map<String, OriginConfig> fileConfigs, Map<String, Map<String, Object>> datapackValues) {
+        this.version = version;
+        this.fileConfigs = Collections.unmodifiableMap(new LinkedHashMap<>(fileConfigs));
+        this.datapackValues = datapackValues;
+        
+        Map<String, OriginConfig> configs = new LinkedHashMap<>();
+        this.fileConfigs.forEach((originName, config) -> {
+            config.freeze();
+            configs.put(originName, ConfigManager.withDatapackValues(originName, config, datapackValues));
+        });
+        this.byName = Collections.unmodifiableMap(configs);
+        
+        int schemaCount = 0;
+        for (ConfigSchema schema : ConfigSchema.all()) {
+            schemaCount = Math.max(schemaCount, schema.index() + 1);
+        }
+        this.bySchema = new OriginConfig[schemaCount];
+        for (OriginConfig config : byName.values()) {
+            config.freeze();
+            if (config.getSchema() != null) {
+                bySchema[config.getSchema().index()] = config;
+            }
+        }
+        
+        OriginConfig patriciaBase = get(ConfigKeys.Patricia.SCHEMA);
+        this.patricia = patriciaBase != null ? new PatriciaOriginConfig(patriciaBase) : null;
+    }
+    
+    private ConfigSnapshot(int version, ConfigSnapshot source) {
+        this.version = version;
+        this.bySchema = source.bySchema;
+        this.byName = source.byName;
+        this.fileConfigs = source.fileConfigs;
+        this.datapackValues = source.datapackValues;
+        this.patricia = source.patricia;
+    }
+    
+    /**
+     * 版数のみを変えたスナップショットを作成（構築済みの内容を共有する）
+     */
+    ConfigSnapshot withVersion(int newVersion) {
+        return new ConfigSnapshot(newVersion, this);
+    }
+    
+    /**
+     * 1つの設定ファイルの値を差し替えたスナップショットを作成（データパックの値はそのまま重ねる）
+     */
+    ConfigSnapshot with(int newVersion, String originName, OriginConfig fileConfig) {
+        Map<String, OriginConfig> configs = new LinkedHashMap<>(fileConfigs);
+        configs.put(originName, fileConfig);
+        return new ConfigSnapshot(newVersion, configs, datapackValues);
+    }
+    
+    /**
+     * データパックの値を差し替えたスナップショットを作成（設定ファイルの値はそのまま）
+     */
+    ConfigSnapshot withDatapackValues(int newVersion, Map<String, Map<String, Object>> values) {
+        return new ConfigSnapshot(newVersion, fileConfigs, values);
+    }
+    
+    /**
+     * 版数（公開のたびに増える）
+     */
+    public int getVersion() {
+        return version;
+    }
+    
+    /**
+     * スキーマの設定を取得（未読み込みの場合はnull）
+     */
+    public OriginConfig get(ConfigSchema schema) {
+        int index = schema.index();
+        return index < bySchema.length ? bySchema[index] : null;
+    }
+    
+    /**
+     * 名前から設定を取得（未読み込みの場合はnull）
+     */
+    public OriginConfig get(String originName) {
+        return byName.get(originName);
+    }
+    
+    /**
+     * 読み込み済みの全設定
+     */
+    public Map<String, OriginConfig> getAll() {
+        return byName;
+    }
+    
+    /**
+     * データパックの値を含まない設定（未読み込みの場合はnull）
+     */
+    public OriginConfig getFileConfig(String originName) {
+        return fileConfigs.get(originName);
+    }
+    
+    /**
+     * データパックの値を含まない全設定
+     */
+    public Map<String, OriginConfig> getFileConfigs() {
+        return fileConfigs;
+    }
+    
+    /**
+     * 重ねているデータパックの値（種族名→キー→値）
+     */
+    public Map<String, Map<String, Object>> getDatapackValues() {
+        return datapackValues;
+    }
+    
+    /**
+     * パトリシア用の設定（補正値テーブル込み）
+     */
+    public PatriciaOriginConfig getPatricia() {
+        return patricia;
+    }
+}
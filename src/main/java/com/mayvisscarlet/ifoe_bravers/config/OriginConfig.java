@@ -1,33 +1,164 @@
 package com.mayvisscarlet.ifoe_bravers.config;
 
 import com.google.gson.JsonObject;
-import java.util.HashMap;
+import com.mayvisscarlet.ifoe_bravers.ifoe_bravers;
+
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
  * 種族設定の基底クラス
- * JSON設定を動的に管理する
+ * スキーマに定義されたキーは型別の配列に格納し、ConfigKeyによる取得は配列の読み込みのみで行う
+ * スキーマにないキーは保存時に失われないよう別に保持する
+ * ConfigManagerが公開した時点で凍結され、以後の変更はcopy()した別インスタンスに対して行う
  */
 public class OriginConfig {
-    public String originName = "";
-    public String description = "";
-    public String version = "1.0.0";
+    private String originName = "";
+    private String description = "";
+    private String version = "1.0.0";
+    
+    private final ConfigSchema schema; // 未定義の種族の場合はnull
+    private final double[] doubles;
+    private final int[] ints;
+    private final boolean[] booleans;
+    private final String[] strings;
+    
+    // スキーマにない設定値
+    private final Map<String, Object> extraValues = new LinkedHashMap<>();
+    
+    // 公開済み（変更不可）かどうか
+    private volatile boolean frozen;
+    
+    public OriginConfig() {
+        this(null);
+    }
+    
+    /**
+     * スキーマのデフォルト値で初期化
+     */
+    public OriginConfig(ConfigSchema schema) {
+        this.schema = schema;
+        this.doubles = new double[schema != null ? schema.doubleSlots() : 0];
+        this.ints = new int[schema != null ? schema.intSlots() : 0];
+        this.booleans = new boolean[schema != null ? schema.booleanSlots() : 0];
+        this.strings = new String[schema != null ? schema.stringSlots() : 0];
+        
+        if (schema != null) {
+            for (ConfigKey<?> key : schema.getKeys()) {
+                switch (key.getKind()) {
+                    case DOUBLE -> doubles[key.slot] = ((ConfigKey.DoubleKey) key).defaultValue;
+                    case INT -> ints[key.slot] = ((ConfigKey.IntKey) key).defaultValue;
+                    case BOOLEAN -> booleans[key.slot] = ((ConfigKey.BooleanKey) key).defaultValue;
+                    case STRING -> strings[key.slot] = ((ConfigKey.StringKey) key).defaultValue;
+                }
+            }
+        }
+    }
     
-    // 動的設定値マップ
-    private final Map<String, Object> values = new HashMap<>();
+    public ConfigSchema getSchema() {
+        return schema;
+    }
+    
+    public String getOriginName() { return originName; }
+    public String getDescription() { return description; }
+    public String getVersion() { return version; }
+    
+    /**
+     * メタデータを設定（読み込み時のみ）
+     */
+    void setMetadata(String originName, String description, String version) {
+        checkMutable();
+        this.originName = originName;
+        this.description = description;
+        this.version = version;
+    }
+    
+    /**
+     * 変更不可にする（スナップショットへの公開時に呼び出し）
+     */
+    void freeze() {
+        frozen = true;
+    }
+    
+    public boolean isFrozen() {
+        return frozen;
+    }
+    
+    /**
+     * 変更可能な複製を作成
+     */
+    public OriginConfig copy() {
+        OriginConfig copy = new OriginConfig(schema);
+        copy.originName = originName;
+        copy.description = description;
+        copy.version = version;
+        System.arraycopy(doubles, 0, copy.doubles, 0, doubles.length);
+        System.arraycopy(ints, 0, copy.ints, 0, ints.length);
+        System.arraycopy(booleans, 0, copy.booleans, 0, booleans.length);
+        System.arraycopy(strings, 0, copy.strings, 0, strings.length);
+        copy.extraValues.putAll(extraValues);
+        return copy;
+    }
+    
+    private void checkMutable() {
+        if (frozen) {
+            throw new IllegalStateException("Config " + originName + " is frozen; modify a copy() instead");
+        }
+    }
+    
+    // ========================================
+    // 型付きキーによる取得（配列の読み込みのみ）
+    // ========================================
+    
+    public double get(ConfigKey.DoubleKey key) { return doubles[key.slot]; }
+    public int get(ConfigKey.IntKey key) { return ints[key.slot]; }
+    public boolean get(ConfigKey.BooleanKey key) { return booleans[key.slot]; }
+    public String get(ConfigKey.StringKey key) { return strings[key.slot]; }
     
     /**
      * 設定値を追加
+     * スキーマのキーは型が合う場合のみスロットへ格納する（数値はdouble/int間で変換）
+     * @return 型が合わず無視した場合はfalse
      */
-    public void addValue(String key, Object value) {
-        values.put(key, value);
+    public boolean addValue(String key, Object value) {
+        checkMutable();
+        ConfigKey<?> configKey = schema != null ? schema.getKey(key) : null;
+        if (configKey == null) {
+            extraValues.put(key, value);
+            return true;
+        }
+        
+        int slot = configKey.slot;
+        boolean accepted = true;
+        switch (configKey.getKind()) {
+            case DOUBLE -> {
+                if (value instanceof Number number) doubles[slot] = number.doubleValue(); else accepted = false;
+            }
+            case INT -> {
+                if (value instanceof Number number) ints[slot] = number.intValue(); else accepted = false;
+            }
+            case BOOLEAN -> {
+                if (value instanceof Boolean flag) booleans[slot] = flag; else accepted = false;
+            }
+            case STRING -> {
+                if (value instanceof String text) strings[slot] = text; else accepted = false;
+            }
+        }
+        if (!accepted) {
+            ifoe_bravers.LOGGER.warn("Ignoring config value {} = {} (expected {})", configKey, value, configKey.getKind());
+        }
+        return accepted;
     }
     
+    // ========================================
+    // キー文字列による取得（拡張・互換用）
+    // ========================================
+    
     /**
      * double値を取得
      */
     public double getDouble(String key, double defaultValue) {
-        Object value = values.get(key);
+        Object value = getValue(key);
         if (value instanceof Number) {
             return ((Number) value).doubleValue();
         }
@@ -38,7 +169,7 @@ public class OriginConfig {
      * int値を取得
      */
     public int getInt(String key, int defaultValue) {
-        Object value = values.get(key);
+        Object value = getValue(key);
         if (value instanceof Number) {
             return ((Number) value).intValue();
         }
@@ -49,7 +180,7 @@ public class OriginConfig {
      * boolean値を取得
      */
     public boolean getBoolean(String key, boolean defaultValue) {
-        Object value = values.get(key);
+        Object value = getValue(key);
         if (value instanceof Boolean) {
             return (Boolean) value;
         }
@@ -60,13 +191,30 @@ public class OriginConfig {
      * String値を取得
      */
     public String getString(String key, String defaultValue) {
-        Object value = values.get(key);
+        Object value = getValue(key);
         if (value instanceof String) {
             return (String) value;
         }
         return defaultValue;
     }
     
+    /**
+     * キー文字列から値を取得（未設定の場合はnull）
+     */
+    private Object getValue(String key) {
+        ConfigKey<?> configKey = schema != null ? schema.getKey(key) : null;
+        return configKey != null ? valueOf(configKey) : extraValues.get(key);
+    }
+    
+    private Object valueOf(ConfigKey<?> key) {
+        return switch (key.getKind()) {
+            case DOUBLE -> doubles[key.slot];
+            case INT -> ints[key.slot];
+            case BOOLEAN -> booleans[key.slot];
+            case STRING -> strings[key.slot];
+        };
+    }
+    
     /**
      * JSONオブジェクトに変換
      */
@@ -76,8 +224,13 @@ public class OriginConfig {
         root.addProperty("description", description);
         root.addProperty("version", version);
         
-        // 設定値を階層構造で追加
-        for (Map.Entry<String, Object> entry : values.entrySet()) {
+        // 設定値を階層構造で追加（スキーマの定義順）
+        if (schema != null) {
+            for (ConfigKey<?> key : schema.getKeys()) {
+                addToJsonHierarchy(root, key.getPath(), valueOf(key));
+            }
+        }
+        for (Map.Entry<String, Object> entry : extraValues.entrySet()) {
             addToJsonHierarchy(root, entry.getKey(), entry.getValue());
         }
         
@@ -109,4 +262,4 @@ public class OriginConfig {
             current.addProperty(finalKey, (String) value);
         }
     }
-}
\ No newline at end of file
+}
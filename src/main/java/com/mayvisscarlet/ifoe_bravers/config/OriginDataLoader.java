@@ -0,0 +1,124 @@
+package com.mayvisscarlet.ifoe_bravers.config;
+
+import com.google.gson.JsonParser;
+import com.mayvisscarlet.ifoe_bravers.ifoe_bravers;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.packs.resources.Resource;
+import net.minecraft.server.packs.resources.ResourceManager;
+import net.minecraft.server.packs.resources.SimplePreparableReloadListener;
+import net.minecraft.util.profiling.ProfilerFiller;
+import net.minecraftforge.event.AddReloadListenerEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * データパックによる種族設定の上書き
+ * データパックの data/(名前空間)/ifoe_bravers/origins/(種族名).json を設定ファイルと同じ階層形式で読み込み、
+ * 設定ファイルの値の上に重ねる（/reloadで反映）
+ * 同じ種族を複数のデータパックが定義する場合は、優先度の高いパックの値が優先
+ * 同じパック内で複数の名前空間が定義する場合は名前空間の辞書順で後のものが優先
+ * 解析・検証・スナップショットの構築は準備段階（バックグラウンド）で行い、適用段階では差し替えのみ行う
+ * 準備中に設定ファイルの変更が公開された場合は、適用段階でその設定にデータパックの値を重ね直す
+ */
+@Mod.EventBusSubscriber(modid = ifoe_bravers.MODID)
+public class OriginDataLoader extends SimplePreparableReloadListener<OriginDataLoader.Prepared> {
+    
+    private static final String DIRECTORY = ifoe_bravers.MODID + "/origins";
+    private static final String FILE_EXTENSION = ".json";
+    
+    /**
+     * 準備段階の結果（データパックの値、構築元の版数、それを重ねた構築済みのスナップショット）
+     */
+    record Prepared(Map<String, Map<String, Object>> values, int baseVersion, ConfigSnapshot snapshot) {}
+    
+    @SubscribeEvent
+    public static void onAddReloadListener(AddReloadListenerEvent event) {
+        event.addListener(new OriginDataLoader());
+    }
+    
+    @Override
+    protected Prepared prepare(ResourceManager resourceManager, ProfilerFiller profiler) {
+        ConfigSnapshot base = ConfigManager.snapshot();
+        Map<String, Map<String, Object>> previous = base.getDatapackValues();
+        Map<String, Map<String, Object>> values = new LinkedHashMap<>();
+        Set<String> failed = new LinkedHashSet<>();
+        
+        // パックの優先度の低い順（同じパック内は名前空間の順）に読み込み、同じ種族の値は後のものが優先
+        Map<String, Integer> packOrder = new HashMap<>();
+        resourceManager.listPacks().forEach(pack -> packOrder.putIfAbsent(pack.packId(), packOrder.size()));
+        List<Map.Entry<ResourceLocation, Resource>> resources = new ArrayList<>();
+        new TreeMap<>(resourceManager.listResourceStacks(DIRECTORY, location -> location.getPath().endsWith(FILE_EXTENSION)))
+            .forEach((location, stack) -> stack.forEach(resource -> resources.add(Map.entry(location, resource))));
+        resources.sort(Comparator.comparingInt(entry -> packOrder.getOrDefault(entry.getValue().sourcePackId(), -1)));
+        
+        for (Map.Entry<ResourceLocation, Resource> entry : resources) {
+            ResourceLocation location = entry.getKey();
+            String path = location.getPath();
+            String originName = path.substring(DIRECTORY.length() + 1, path.length() - FILE_EXTENSION.length());
+            if (ConfigSchema.forName(originName) == null) {
+                ifoe_bravers.LOGGER.warn("Ignoring origin data {}: unknown origin '{}'", location, originName);
+                continue;
+            }
+            
+            try (Reader reader = entry.getValue().openAsReader()) {
+                values.computeIfAbsent(originName, name -> new LinkedHashMap<>())
+                    .putAll(ConfigManager.flattenJsonValues(JsonParser.parseReader(reader).getAsJsonObject()));
+            } catch (IOException | RuntimeException e) {
+                ifoe_bravers.LOGGER.warn("Failed to read origin data {}: {}", location, e.getMessage());
+                failed.add(originName);
+            }
+        }
+        
+        // 設定ファイルの値に重ねて検証し、不正な種族は直前のデータパックの値を維持する
+        Set<String> originNames = new LinkedHashSet<>(values.keySet());
+        originNames.addAll(failed);
+        for (String originName : originNames) {
+            List<String> problems = new ArrayList<>();
+            if (!failed.contains(originName)) {
+                OriginConfig fileConfig = base.getFileConfig(originName);
+                OriginConfig candidate = fileConfig != null ? fileConfig.copy() : ConfigManager.readOriginConfig(originName);
+                List<String> rejectedKeys = new ArrayList<>();
+                ConfigManager.applyValues(candidate, values.get(originName), rejectedKeys);
+                if (!rejectedKeys.isEmpty()) {
+                    problems.add("wrong value type for " + rejectedKeys);
+                }
+                problems.addAll(ConfigInitializer.validate(candidate));
+            }
+            
+            if (failed.contains(originName) || !problems.isEmpty()) {
+                if (!problems.isEmpty()) {
+                    ifoe_bravers.LOGGER.warn("Rejected origin data for {}: {}", originName, problems);
+                }
+                Map<String, Object> kept = previous.get(originName);
+                if (kept != null) {
+                    values.put(originName, kept);
+                } else {
+                    values.remove(originName);
+                }
+            }
+        }
+        
+        Map<String, Map<String, Object>> frozen = new LinkedHashMap<>();
+        values.forEach((originName, originValues) -> frozen.put(originName, Collections.unmodifiableMap(originValues)));
+        Map<String, Map<String, Object>> published = Collections.unmodifiableMap(frozen);
+        return new Prepared(published, base.getVersion(), base.withDatapackValues(0, published));
+    }
+    
+    @Override
+    protected void apply(Prepared prepared, ResourceManager resourceManager, ProfilerFiller profiler) {
+        ConfigManager.publishDatapackConfigs(prepared.values(), prepared.baseVersion(), prepared.snapshot());
+    }
+}
@@ -0,0 +1,141 @@
+package com.mayvisscarlet.ifoe_bravers.events;
+
+import com.mayvisscarlet.ifoe_bravers.ifoe_bravers;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.tags.TagKey;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.entity.Saddleable;
+import net.minecraftforge.event.TagsUpdatedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * スキル実行中の交流制限に使うエンティティ分類
+ * クラス名等による推定はクラスごとに1度だけ（ClassValue）、データパックのタグはEntityTypeごとに1度だけ評価し、
+ * 判定は分類ビットと制限レベルのマスクの論理積のみで行う
+ */
+@Mod.EventBusSubscriber(modid = ifoe_bravers.MODID)
+public final class EntityInteractionClassifier {
+    
+    public static final int ENTITY = 1;      // すべてのエンティティ
+    public static final int VEHICLE = 1 << 1;
+    public static final int NPC = 1 << 2;
+    private static final int SADDLEABLE = 1 << 3; // 鞍を付けている場合のみ乗り物
+    
+    // データパックで追加・除外できるタグ
+    public static final TagKey<EntityType<?>> VEHICLES_TAG = tag("skill_restricted_vehicles");
+    public static final TagKey<EntityType<?>> NPCS_TAG = tag("skill_restricted_npcs");
+    public static final TagKey<EntityType<?>> EXEMPT_TAG = tag("skill_interaction_exempt");
+    
+    private static final ClassValue<Integer> CLASS_BITS = new ClassValue<>() {
+        @Override
+        protected Integer computeValue(Class<?> type) {
+            return classifyClass(type);
+        }
+    };
+    
+    // タグ由来の分類（タグ再読み込み時に破棄）
+    private static final Map<EntityType<?>, Integer> TYPE_BITS = new ConcurrentHashMap<>();
+    private static final int TAG_EXEMPT = 1 << 31;
+    
+    private EntityInteractionClassifier() {}
+    
+    private static TagKey<EntityType<?>> tag(String path) {
+        return TagKey.create(Registries.ENTITY_TYPE, new ResourceLocation(ifoe_bravers.MODID, path));
+    }
+    
+    /**
+     * エンティティの分類ビットを取得
+     */
+    public static int classify(Entity entity) {
+        int typeBits = TYPE_BITS.computeIfAbsent(entity.getType(), EntityInteractionClassifier::classifyTags);
+        int bits = (typeBits & TAG_EXEMPT) != 0 ? ENTITY : CLASS_BITS.get(entity.getClass()) | typeBits;
+        
+        if ((bits & SADDLEABLE) != 0 && entity instanceof Saddleable saddleable && saddleable.isSaddled()) {
+            bits |= VEHICLE;
+        }
+        return bits;
+    }
+    
+    /**
+     * 制限対象か（maskは制限レベルの分類マスク）
+     */
+    public static boolean matches(Entity entity, int mask) {
+        return mask != 0 && (classify(entity) & mask) != 0;
+    }
+    
+    @SubscribeEvent
+    public static void onTagsUpdated(TagsUpdatedEvent event) {
+        TYPE_BITS.clear();
+    }
+    
+    // ========================================
+    // 分類処理（種類ごとに1度だけ実行）
+    // ========================================
+    
+    private static int classifyTags(EntityType<?> type) {
+        if (type.is(EXEMPT_TAG)) {
+            return TAG_EXEMPT;
+        }
+        int bits = 0;
+        if (type.is(VEHICLES_TAG)) bits |= VEHICLE;
+        if (type.is(NPCS_TAG)) bits |= NPC;
+        return bits;
+    }
+    
+    private static int classifyClass(Class<?> type) {
+        int bits = ENTITY;
+        String className = type.getSimpleName().toLowerCase(Locale.ROOT);
+        Package pkg = type.getPackage();
+        String packageName = pkg != null ? pkg.getName().toLowerCase(Locale.ROOT) : "";
+        
+        // 乗り物：クラス名・パッケージ名による推定とMinecraft標準の乗り物
+        boolean nameIndicatesVehicle = className.contains("boat") ||
+                                     className.contains("cart") ||
+                                     className.contains("horse") ||
+                                     className.contains("vehicle") ||
+                                     className.contains("mount") ||
+                                     className.contains("rideable") ||
+                                     className.contains("camel") ||
+                                     className.contains("strider");
+        boolean packageIndicatesVehicle = packageName.contains("vehicle") ||
+                                        packageName.contains("transportation");
+        boolean isVanillaVehicle = is(type, net.minecraft.world.entity.vehicle.AbstractMinecart.class) ||
+                                 is(type, net.minecraft.world.entity.vehicle.Boat.class) ||
+                                 is(type, net.minecraft.world.entity.animal.horse.AbstractHorse.class) ||
+                                 is(type, net.minecraft.world.entity.animal.camel.Camel.class) ||
+                                 is(type, net.minecraft.world.entity.monster.Strider.class);
+        if (nameIndicatesVehicle || packageIndicatesVehicle || isVanillaVehicle) {
+            bits |= VEHICLE;
+        } else if (is(type, net.minecraft.world.entity.animal.Pig.class)) {
+            bits |= SADDLEABLE;
+        }
+        
+        // NPC：クラス名・パッケージ名による推定とMinecraft標準のNPC・動物
+        boolean nameIndicatesNPC = className.contains("villager") ||
+                                 className.contains("npc") ||
+                                 className.contains("trader") ||
+                                 className.contains("merchant") ||
+                                 className.contains("guard") ||
+                                 className.contains("citizen");
+        boolean packageIndicatesNPC = packageName.contains("npc") ||
+                                    packageName.contains("villager") ||
+                                    packageName.contains("citizen");
+        boolean isVanillaNPC = is(type, net.minecraft.world.entity.npc.AbstractVillager.class) ||
+                             is(type, net.minecraft.world.entity.animal.Animal.class);
+        if (nameIndicatesNPC || packageIndicatesNPC || isVanillaNPC) {
+            bits |= NPC;
+        }
+        return bits;
+    }
+    
+    private static boolean is(Class<?> type, Class<?> base) {
+        return base.isAssignableFrom(type);
+    }
+}
@@ -1,10 +1,19 @@
 package com.mayvisscarlet.ifoe_bravers.events;
 
 import com.mayvisscarlet.ifoe_bravers.ifoe_bravers;
-import com.mayvisscarlet.ifoe_bravers.capability.AffinityCapability;
+import com.mayvisscarlet.ifoe_bravers.capability.PlayerHandle;
+import com.mayvisscarlet.ifoe_bravers.config.ConfigKeys;
+import com.mayvisscarlet.ifoe_bravers.config.ConfigManager;
+import com.mayvisscarlet.ifoe_bravers.growth.AffinityData;
+import com.mayvisscarlet.ifoe_bravers.growth.AffinityGainBuffer;
+import com.mayvisscarlet.ifoe_bravers.growth.AffinityJournal;
+import com.mayvisscarlet.ifoe_bravers.growth.AffinityLeaderboard;
 import com.mayvisscarlet.ifoe_bravers.race.RaceManager;
 import com.mayvisscarlet.ifoe_bravers.util.DebugDisplay;
-import net.minecraft.world.entity.player.Player;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.server.players.PlayerList;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.entity.player.PlayerEvent;
 import net.minecraftforge.event.entity.player.PlayerXpEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod;
@@ -16,56 +25,116 @@ import net.minecraftforge.fml.common.Mod;
  */
 @Mod.EventBusSubscriber(modid = ifoe_bravers.MODID)
 public class IntegratedEventHandler {
-    
+
     /**
      * プレイヤーが経験値を獲得した時の処理
+     * その場では蓄積のみ行い、反映はティック終了時にまとめて行う
      */
     @SubscribeEvent
     public static void onPlayerGainXP(PlayerXpEvent.XpChange event) {
-        Player player = event.getEntity();
         int xpGained = event.getAmount();
-        
         if (xpGained <= 0) return;
-        
+
+        if (event.getEntity() instanceof ServerPlayer player) {
+            AffinityGainBuffer.add(player, xpGained);
+        }
+    }
+
+    /**
+     * ティック終了時に蓄積した経験値を親和値へ一括反映し、ランキングの順位を更新
+     */
+    @SubscribeEvent
+    public static void onServerTick(TickEvent.ServerTickEvent event) {
+        if (event.phase != TickEvent.Phase.END) return;
+
+        if (!AffinityGainBuffer.isEmpty()) {
+            // 換算方式はティックごとに1回だけ読み込む
+            // 蓄積時のエンティティが複製で差し替わっている場合もあるため、反映先は現在のプレイヤーをUUIDで解決する
+            AffinityGainBuffer.XpMode mode = getXpMode();
+            PlayerList playerList = event.getServer().getPlayerList();
+            AffinityGainBuffer.drain((playerId, pending) -> {
+                ServerPlayer player = playerList.getPlayer(playerId);
+                if (player != null) {
+                    applyXpGain(player, pending, mode);
+                }
+            });
+        }
+
+        // このティックの親和値の変更（コマンド・他スレッドからの分を含む）をまとめて順位に反映
+        AffinityLeaderboard.flushPending();
+    }
+
+    /**
+     * 設定から経験値の換算方式を取得
+     */
+    private static AffinityGainBuffer.XpMode getXpMode() {
+        return AffinityGainBuffer.XpMode.fromId(ConfigManager.get(ConfigKeys.Common.AFFINITY_XP_MODE));
+    }
+
+    /**
+     * 蓄積した経験値を親和値として反映し、レベルアップを通知
+     */
+    private static void applyXpGain(ServerPlayer player, AffinityGainBuffer.PendingGain pending, AffinityGainBuffer.XpMode mode) {
         // IfOE_Bravers種族のみ処理
         if (!RaceManager.hasAnyRace(player)) {
             return;
         }
+
+        // 親和度データを取得して親和値を追加（ハンドル経由でCapability検索を省略）
+        PlayerHandle handle = PlayerHandle.of(player);
+        if (handle == null) {
+            return;
+        }
         
-        // 親和度データを取得して親和値を追加
-        AffinityCapability.getAffinityData(player).ifPresent(affinityData -> {
-            int oldLevel = affinityData.getAffinityData().getAffinityLevel();
-            boolean leveledUp = affinityData.getAffinityData().addAffinityFromXP(xpGained);
-            
-            if (leveledUp) {
-                int newLevel = affinityData.getAffinityData().getAffinityLevel();
-                
-                // レベルアップ通知（全種族共通）
-                player.sendSystemMessage(
-                    net.minecraft.network.chat.Component.literal(
-                        String.format("§l§e親和度レベルアップ！ §r§a%d §7→ §b%d", oldLevel, newLevel)
-                    )
-                );
-                
-                // Origins除去後: 属性更新は独自能力システムで自動処理される
-                if (RaceManager.isPatricia(player)) {
-                    DebugDisplay.debug(player, "AFFINITY_CALCULATION", 
-                        "Patricia affinity level changed: %d -> %d (独自システムで自動更新)", 
-                        oldLevel, newLevel);
-                }
-                
-                DebugDisplay.info(player, "AFFINITY_CALCULATION", "Player %s affinity level up: %d -> %d", 
-                    player.getDisplayName().getString(), oldLevel, newLevel);
+        AffinityData data = handle.getAffinityData();
+        double affinityPoints = pending.toAffinityPoints(mode);
+        int oldLevel = data.getAffinityLevel();
+        boolean leveledUp = data.addAffinityPoints(affinityPoints);
+        AffinityJournal.record(player.getUUID(), AffinityData.toMicroPoints(affinityPoints),
+            AffinityJournal.Source.XP, data.getAffinityLevel());
+        
+        if (leveledUp) {
+            int newLevel = data.getAffinityLevel();
+
+            // レベルアップ通知（全種族共通）
+            player.sendSystemMessage(
+                net.minecraft.network.chat.Component.literal(
+                    String.format("§l§e親和度レベルアップ！ §r§a%d §7→ §b%d", oldLevel, newLevel)
+                )
+            );
+
+            // Origins除去後: 属性更新は独自能力システムで自動処理される
+            if (RaceManager.isPatricia(player)) {
+                DebugDisplay.debug(player, "AFFINITY_CALCULATION",
+                    "Patricia affinity level changed: %d -> %d (独自システムで自動更新)",
+                    oldLevel, newLevel);
             }
             
-            // デバッグログ（詳細版）
-            if (xpGained >= 10) { // 大きな経験値獲得時のみログ
-                DebugDisplay.debug(player, "AFFINITY_CALCULATION", "Player %s gained %d XP -> %.3f affinity points. Level: %d", 
-                    player.getDisplayName().getString(), 
-                    xpGained, 
-                    Math.sqrt(xpGained),
-                    affinityData.getAffinityData().getAffinityLevel());
+            DebugDisplay.info(player, "AFFINITY_CALCULATION", "Player %s affinity level up: %d -> %d",
+                player.getDisplayName().getString(), oldLevel, newLevel);
+        }
+        
+        // デバッグログ（詳細版）
+        if (pending.getTotalXp() >= 10) { // 大きな経験値獲得時のみログ
+            DebugDisplay.debug(player, "AFFINITY_CALCULATION", "Player %s gained %d XP -> %.3f affinity points (%s). Level: %d",
+                player.getDisplayName().getString(),
+                pending.getTotalXp(),
+                affinityPoints,
+                mode.getId(),
+                data.getAffinityLevel());
+        }
+    }
+
+    /**
+     * ログアウト時に未反映の蓄積値を反映（保存前に呼ばれる）
+     */
+    @SubscribeEvent
+    public static void onPlayerLoggedOut(PlayerEvent.PlayerLoggedOutEvent event) {
+        if (event.getEntity() instanceof ServerPlayer player) {
+            AffinityGainBuffer.PendingGain pending = AffinityGainBuffer.take(player.getUUID());
+            if (pending != null) {
+                applyXpGain(player, pending, getXpMode());
             }
-        });
+        }
     }
-}
\ No newline at end of file
+}
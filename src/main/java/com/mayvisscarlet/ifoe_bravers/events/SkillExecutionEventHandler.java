@@ -1,11 +1,10 @@
 package com.mayvisscarlet.ifoe_bravers.events;
 
 import com.mayvisscarlet.ifoe_bravers.ifoe_bravers;
+import com.mayvisscarlet.ifoe_bravers.config.ConfigKeys;
+import com.mayvisscarlet.ifoe_bravers.config.ConfigManager;
 import com.mayvisscarlet.ifoe_bravers.skills.SkillExecutionManager;
-import com.mayvisscarlet.ifoe_bravers.skills.TestFireSkill;
-import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.entity.player.Player;
-import net.minecraftforge.event.entity.living.LivingEvent;
 import net.minecraftforge.event.entity.living.LivingEntityUseItemEvent;
 import net.minecraftforge.event.entity.player.AttackEntityEvent;
 import net.minecraftforge.event.entity.player.PlayerInteractEvent;
@@ -187,36 +186,11 @@ public class SkillExecutionEventHandler {
         Player player = event.getEntity();
         if (SkillExecutionManager.isExecutingSkill(player)) {
             if (event.isCancelable()) {
-                // 設定可能な制限レベル
-                EntityInteractionLevel restrictionLevel = getEntityInteractionRestriction();
-                
-                switch (restrictionLevel) {
-                    case ALL_ENTITIES:
-                        // 全エンティティとの交流を制限
-                        event.setCanceled(true);
-                        showEntityInteractionMessage(player, "entities", event.getTarget());
-                        break;
-                        
-                    case VEHICLES_AND_NPCS:
-                        // 乗り物とNPCのみ制限
-                        if (isLikelyVehicleOrNPC(event.getTarget())) {
-                            event.setCanceled(true);
-                            showEntityInteractionMessage(player, "vehicles/NPCs", event.getTarget());
-                        }
-                        break;
-                        
-                    case VEHICLES_ONLY:
-                        // 乗り物のみ制限
-                        if (isLikelyVehicle(event.getTarget())) {
-                            event.setCanceled(true);
-                            showEntityInteractionMessage(player, "vehicles", event.getTarget());
-                        }
-                        break;
-                        
-                    case NONE:
-                    default:
-                        // 制限なし
-                        break;
+                // 設定可能な制限レベル（分類ビットとのマスク判定）
+                EntityInteractionLevel restrictionLevel = entityInteractionRestriction;
+                if (EntityInteractionClassifier.matches(event.getTarget(), restrictionLevel.getMask())) {
+                    event.setCanceled(true);
+                    showEntityInteractionMessage(player, restrictionLevel.getLabel(), event.getTarget());
                 }
             }
         }
@@ -226,82 +200,61 @@ public class SkillExecutionEventHandler {
      * エンティティ交流制限レベル
      */
     public enum EntityInteractionLevel {
-        NONE,                // 制限なし
-        VEHICLES_ONLY,       // 乗り物のみ制限
-        VEHICLES_AND_NPCS,   // 乗り物とNPC制限
-        ALL_ENTITIES         // 全エンティティ制限
-    }
-    
-    /**
-     * 現在の制限レベルを取得（設定可能）
-     */
-    private static EntityInteractionLevel getEntityInteractionRestriction() {
-        // TODO: 設定ファイルから読み込み可能にする
-        return EntityInteractionLevel.VEHICLES_AND_NPCS; // デフォルト
-    }
-    
-    /**
-     * 乗り物らしいエンティティかを汎用的に判定
-     */
-    private static boolean isLikelyVehicle(net.minecraft.world.entity.Entity entity) {
-        String className = entity.getClass().getSimpleName().toLowerCase();
-        String packageName = entity.getClass().getPackage().getName().toLowerCase();
+        // 制限なし
+        NONE("none", 0, ""),
+        // 乗り物のみ制限
+        VEHICLES_ONLY("vehicles_only", EntityInteractionClassifier.VEHICLE, "vehicles"),
+        // 乗り物とNPC制限
+        VEHICLES_AND_NPCS("vehicles_and_npcs",
+            EntityInteractionClassifier.VEHICLE | EntityInteractionClassifier.NPC, "vehicles/NPCs"),
+        // 全エンティティ制限
+        ALL_ENTITIES("all_entities", EntityInteractionClassifier.ENTITY, "entities");
         
-        // クラス名による判定
-        boolean nameIndicatesVehicle = className.contains("boat") ||
-                                     className.contains("cart") ||
-                                     className.contains("minecart") ||
-                                     className.contains("horse") ||
-                                     className.contains("vehicle") ||
-                                     className.contains("mount") ||
-                                     className.contains("rideable") ||
-                                     className.contains("camel") ||
-                                     className.contains("strider");
+        private final String id;
+        private final int mask;
+        private final String label;
         
-        // パッケージ名による判定
-        boolean packageIndicatesVehicle = packageName.contains("vehicle") ||
-                                        packageName.contains("transportation");
+        EntityInteractionLevel(String id, int mask, String label) {
+            this.id = id;
+            this.mask = mask;
+            this.label = label;
+        }
         
-        // Minecraft標準の乗り物
-        boolean isVanillaVehicle = entity instanceof net.minecraft.world.entity.vehicle.AbstractMinecart ||
-                                 entity instanceof net.minecraft.world.entity.vehicle.Boat ||
-                                 entity instanceof net.minecraft.world.entity.animal.horse.AbstractHorse ||
-                                 (entity instanceof net.minecraft.world.entity.animal.Pig && 
-                                  ((net.minecraft.world.entity.animal.Pig)entity).isSaddled()) ||
-                                 entity instanceof net.minecraft.world.entity.animal.camel.Camel ||
-                                 entity instanceof net.minecraft.world.entity.monster.Strider;
+        public String getId() { return id; }
+        public int getMask() { return mask; }
+        public String getLabel() { return label; }
         
-        return nameIndicatesVehicle || packageIndicatesVehicle || isVanillaVehicle;
+        public static EntityInteractionLevel fromId(String id) {
+            for (EntityInteractionLevel level : values()) {
+                if (level.id.equalsIgnoreCase(id)) {
+                    return level;
+                }
+            }
+            return null;
+        }
     }
     
+    private static volatile EntityInteractionLevel entityInteractionRestriction = EntityInteractionLevel.VEHICLES_AND_NPCS;
+    
     /**
-     * 乗り物またはNPCらしいエンティティかを汎用的に判定
+     * 制限レベルを設定から再読み込み
      */
-    private static boolean isLikelyVehicleOrNPC(net.minecraft.world.entity.Entity entity) {
-        if (isLikelyVehicle(entity)) {
-            return true;
+    public static void reloadConfig() {
+        String id = ConfigManager.get(ConfigKeys.Common.SKILL_ENTITY_INTERACTION_RESTRICTION);
+        EntityInteractionLevel level = EntityInteractionLevel.fromId(id);
+        if (level == null) {
+            ifoe_bravers.LOGGER.warn("Unknown {} '{}', using {}", ConfigKeys.Common.SKILL_ENTITY_INTERACTION_RESTRICTION, id,
+                EntityInteractionLevel.VEHICLES_AND_NPCS.getId());
+            level = EntityInteractionLevel.VEHICLES_AND_NPCS;
         }
-        
-        String className = entity.getClass().getSimpleName().toLowerCase();
-        String packageName = entity.getClass().getPackage().getName().toLowerCase();
-        
-        // NPC系の判定
-        boolean nameIndicatesNPC = className.contains("villager") ||
-                                 className.contains("npc") ||
-                                 className.contains("trader") ||
-                                 className.contains("merchant") ||
-                                 className.contains("guard") ||
-                                 className.contains("citizen");
-        
-        boolean packageIndicatesNPC = packageName.contains("npc") ||
-                                    packageName.contains("villager") ||
-                                    packageName.contains("citizen");
-        
-        // Minecraft標準のNPC
-        boolean isVanillaNPC = entity instanceof net.minecraft.world.entity.npc.AbstractVillager ||
-                             entity instanceof net.minecraft.world.entity.animal.Animal;
-        
-        return nameIndicatesNPC || packageIndicatesNPC || isVanillaNPC;
+        entityInteractionRestriction = level;
+    }
+    
+    /**
+     * 現在の制限レベルを取得
+     */
+    public static EntityInteractionLevel getEntityInteractionRestriction() {
+        return entityInteractionRestriction;
     }
     
     /**
@@ -320,17 +273,4 @@ public class SkillExecutionEventHandler {
             entityType, player.getDisplayName().getString(), 
             target.getClass().getSimpleName(), target.getClass().getPackage().getName());
     }
-    
-    /**
-     * スキル効果のティック処理
-     */
-    @SubscribeEvent
-    public static void onLivingTick(LivingEvent.LivingTickEvent event) {
-        if (event.getEntity() instanceof ServerPlayer player) {
-            // スキル実行中の場合、効果を実行
-            if (SkillExecutionManager.isExecutingSkill(player)) {
-                TestFireSkill.tickEffect(player);
-            }
-        }
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,230 @@
+package com.mayvisscarlet.ifoe_bravers.growth;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 親和度の成長曲線（区分線形の必要親和値をテーブル化したもの）
+ * 読み込み時に累積親和値のint[]テーブルへコンパイルし、
+ * レベル→累積親和値はO(1)、累積親和値→レベルは二分探索O(log n)で解決する
+ * テーブル上限を超えたレベルは最終区間を延長した閉形式で計算する
+ *
+ * 各区間の必要親和値: base + (level - fromLevel) * step
+ * デフォルト（MinecraftのXPシステム準拠）: "0:7:2, 15:37:5, 30:112:9"
+ */
+public final class AffinityCurve {
+    
+    /** レベル上限 */
+    public static final int MAX_LEVEL = 1_000_000;
+    
+    /** 固定小数点表現の倍率（1親和値 = 1,000,000マイクロ親和値） */
+    public static final long MICRO_POINTS_PER_POINT = 1_000_000L;
+    
+    /** テーブル化するレベル数（累積値がintに収まらない場合はそこで打ち切る） */
+    private static final int TABLE_LEVELS = 4096;
+    
+    // 区間ごとの値の上限（閉形式計算でlongが溢れないように制限）
+    private static final int MAX_BASE = 1_000_000;
+    private static final int MAX_STEP = 100_000;
+    
+    /** デフォルトの曲線定義 */
+    public static final String DEFAULT_SPEC = "0:7:2, 15:37:5, 30:112:9";
+    
+    /** デフォルトの曲線 */
+    public static final AffinityCurve DEFAULT = parse(DEFAULT_SPEC);
+    
+    /**
+     * 曲線の1区間（fromLevel以降、次の区間まで有効）
+     */
+    public record Segment(int fromLevel, int base, int step) {}
+    
+    private final List<Segment> segments;
+    private final int[] cumulative;    // cumulative[L] = レベルLに到達するための累積親和値
+    private final int tableLevels;     // テーブルで表現できる最大レベル
+    private final long tailBase;       // tableLevels時点の必要親和値
+    private final long tailStep;       // 最終区間の増分
+    
+    private AffinityCurve(List<Segment> segments) {
+        this.segments = List.copyOf(segments);
+        
+        int[] table = new int[TABLE_LEVELS + 1];
+        int levels = 0;
+        long total = 0;
+        while (levels < TABLE_LEVELS) {
+            long next = total + computeCost(levels);
+            if (next > Integer.MAX_VALUE) break;
+            total = next;
+            levels++;
+            table[levels] = (int) total;
+        }
+        
+        this.cumulative = Arrays.copyOf(table, levels + 1);
+        this.tableLevels = levels;
+        this.tailBase = computeCost(levels);
+        this.tailStep = this.segments.get(this.segments.size() - 1).step();
+    }
+    
+    /**
+     * 区間定義から曲線をコンパイル
+     */
+    public static AffinityCurve compile(List<Segment> segments) {
+        if (segments == null || segments.isEmpty()) {
+            throw new IllegalArgumentException("Affinity curve needs at least one segment");
+        }
+        
+        List<Segment> sorted = new ArrayList<>(segments);
+        sorted.sort(Comparator.comparingInt(Segment::fromLevel));
+        if (sorted.get(0).fromLevel() != 0) {
+            throw new IllegalArgumentException("First affinity curve segment must start at level 0");
+        }
+        for (int i = 0; i < sorted.size(); i++) {
+            Segment segment = sorted.get(i);
+            if (i > 0 && segment.fromLevel() == sorted.get(i - 1).fromLevel()) {
+                throw new IllegalArgumentException("Duplicate affinity curve segment at level " + segment.fromLevel());
+            }
+            if (segment.base() < 1 || segment.base() > MAX_BASE || segment.step() < 0 || segment.step() > MAX_STEP) {
+                throw new IllegalArgumentException("Affinity curve segment out of range: " + segment);
+            }
+        }
+        return new AffinityCurve(sorted);
+    }
+    
+    /**
+     * "fromLevel:base:step, ..." 形式の文字列から曲線をコンパイル
+     */
+    public static AffinityCurve parse(String spec) {
+        List<Segment> segments = new ArrayList<>();
+        for (String part : spec.split(",")) {
+            String trimmed = part.trim();
+            if (trimmed.isEmpty()) continue;
+            
+            String[] values = trimmed.split(":");
+            if (values.length != 3) {
+                throw new IllegalArgumentException("Invalid affinity curve segment: " + trimmed);
+            }
+            try {
+                segments.add(new Segment(
+                    Integer.parseInt(values[0].trim()),
+                    Integer.parseInt(values[1].trim()),
+                    Integer.parseInt(values[2].trim())));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid affinity curve segment: " + trimmed, e);
+            }
+        }
+        return compile(segments);
+    }
+    
+    /**
+     * 区間定義から指定レベルの必要親和値を計算（コンパイル時のみ使用）
+     */
+    private long computeCost(int level) {
+        Segment active = segments.get(0);
+        for (Segment segment : segments) {
+            if (segment.fromLevel() > level) break;
+            active = segment;
+        }
+        return active.base() + (long) (level - active.fromLevel()) * active.step();
+    }
+    
+    /**
+     * 指定レベルから次のレベルまでに必要な親和値
+     */
+    public int pointsToNextLevel(int level) {
+        int from = Math.max(0, level);
+        if (from < tableLevels) {
+            return cumulative[from + 1] - cumulative[from];
+        }
+        return (int) Math.min(Integer.MAX_VALUE, tailBase + (long) (from - tableLevels) * tailStep);
+    }
+    
+    /**
+     * 指定レベルに到達するために必要な累積親和値
+     */
+    public long cumulativePoints(int level) {
+        if (level <= 0) return 0L;
+        if (level <= tableLevels) {
+            return cumulative[level];
+        }
+        
+        // テーブル外：最終区間を延長した閉形式
+        long n = Math.min(level, MAX_LEVEL) - tableLevels;
+        return cumulative[tableLevels] + n * tailBase + tailStep * n * (n - 1) / 2;
+    }
+    
+    /**
+     * 累積親和値（整数部）から到達済みレベルを計算
+     */
+    private int levelForWholePoints(long points) {
+        if (points <= 0L) return 0;
+        
+        if (points < cumulative[tableLevels]) {
+            // テーブル内：cumulative[L] <= points となる最大のL（テーブルは狭義単調増加）
+            int index = Arrays.binarySearch(cumulative, (int) points);
+            return index >= 0 ? index : -index - 2;
+        }
+        
+        // テーブル外：n*tailBase + tailStep*n(n-1)/2 <= rest を解く
+        long rest = points - cumulative[tableLevels];
+        double estimate;
+        if (tailStep == 0) {
+            estimate = (double) rest / tailBase;
+        } else {
+            double b = tailBase - tailStep / 2.0;
+            estimate = (-b + Math.sqrt(b * b + 2.0 * tailStep * rest)) / tailStep;
+        }
+        
+        int level = (int) Math.min(MAX_LEVEL, tableLevels + Math.max(0L, (long) Math.floor(estimate)));
+        
+        // 推定誤差の補正（通常は0〜1回）
+        while (level < MAX_LEVEL && cumulativePoints(level + 1) <= points) {
+            level++;
+        }
+        while (level > tableLevels && cumulativePoints(level) > points) {
+            level--;
+        }
+        return level;
+    }
+    
+    /**
+     * 累積親和値から到達済みレベルを計算
+     */
+    public int levelForPoints(double totalPoints) {
+        if (!(totalPoints > 0.0)) return 0;
+        return levelForWholePoints((long) Math.floor(Math.min(totalPoints, (double) Long.MAX_VALUE)));
+    }
+    
+    /**
+     * 固定小数点の累積親和値から到達済みレベルを計算
+     * 必要親和値は整数のため、整数部の比較で厳密に判定できる
+     */
+    public int levelForMicroPoints(long totalMicroPoints) {
+        return levelForWholePoints(totalMicroPoints / MICRO_POINTS_PER_POINT);
+    }
+    
+    /**
+     * 固定小数点の累積親和値から現在レベル内の親和値（マイクロ）を計算
+     */
+    public long remainderMicroPoints(long totalMicroPoints, int level) {
+        long wholeRemainder = totalMicroPoints / MICRO_POINTS_PER_POINT - cumulativePoints(level);
+        return Math.max(0L, wholeRemainder * MICRO_POINTS_PER_POINT + totalMicroPoints % MICRO_POINTS_PER_POINT);
+    }
+    
+    /**
+     * 区間定義を文字列で取得（設定ファイル形式）
+     */
+    public String toSpec() {
+        StringBuilder builder = new StringBuilder();
+        for (Segment segment : segments) {
+            if (builder.length() > 0) builder.append(", ");
+            builder.append(segment.fromLevel()).append(':').append(segment.base()).append(':').append(segment.step());
+        }
+        return builder.toString();
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("AffinityCurve[%s, table=%d levels]", toSpec(), tableLevels);
+    }
+}
@@ -0,0 +1,61 @@
+package com.mayvisscarlet.ifoe_bravers.growth;
+
+import com.mayvisscarlet.ifoe_bravers.ifoe_bravers;
+import com.mayvisscarlet.ifoe_bravers.config.ConfigKey;
+import com.mayvisscarlet.ifoe_bravers.config.ConfigKeys;
+import com.mayvisscarlet.ifoe_bravers.config.ConfigManager;
+import com.mayvisscarlet.ifoe_bravers.race.Race;
+
+import java.util.Arrays;
+
+/**
+ * 種族ごとの成長曲線レジストリ
+ * 各種族の設定（growth_system.affinity_curve）を読み込み時にコンパイルし、
+ * 参照は種族の序数による配列アクセスのみで行う
+ */
+public final class AffinityCurves {
+    
+    public static final String CONFIG_KEY = "growth_system.affinity_curve";
+    
+    private static volatile AffinityCurve[] curvesByRace = createDefaultCurves();
+    
+    private AffinityCurves() {}
+    
+    /**
+     * 指定種族の成長曲線を取得
+     */
+    public static AffinityCurve get(Race race) {
+        return curvesByRace[race.ordinal()];
+    }
+    
+    /**
+     * 全種族の成長曲線を設定から再コンパイルして差し替え
+     */
+    public static void reload() {
+        AffinityCurve[] curves = createDefaultCurves();
+        
+        for (Race race : Race.values()) {
+            if (race == Race.NONE) continue;
+            
+            ConfigKey.StringKey key = ConfigKeys.affinityCurve(race);
+            if (key == null) continue;
+            
+            String spec = ConfigManager.get(key);
+            try {
+                curves[race.ordinal()] = AffinityCurve.parse(spec);
+            } catch (IllegalArgumentException e) {
+                ifoe_bravers.LOGGER.warn("Invalid affinity curve for {}: {} - using default ({})",
+                    race.getId(), e.getMessage(), AffinityCurve.DEFAULT_SPEC);
+            }
+            ifoe_bravers.LOGGER.debug("Affinity curve for {}: {}", race.getId(), curves[race.ordinal()]);
+        }
+        
+        curvesByRace = curves;
+    }
+    
+    private static AffinityCurve[] createDefaultCurves() {
+        AffinityCurve[] curves = new AffinityCurve[Race.values().length];
+        Arrays.fill(curves, AffinityCurve.DEFAULT);
+        return curves;
+    }
+}
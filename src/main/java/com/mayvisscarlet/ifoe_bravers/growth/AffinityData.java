@@ -1,16 +1,67 @@
 package com.mayvisscarlet.ifoe_bravers.growth;
 
+import com.mayvisscarlet.ifoe_bravers.ifoe_bravers;
+import com.mayvisscarlet.ifoe_bravers.race.Race;
 import net.minecraft.nbt.CompoundTag;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.UUID;
+
 /**
  * プレイヤーの親和度データを管理するクラス
- * MinecraftのXPシステムと同じロジックを使用
- * double型による精密計算対応
+ * 成長曲線は種族ごとの設定（AffinityCurves）に従う
+ * 累積親和値は固定小数点（マイクロ親和値のlong）で保持し、CASで更新する
+ * ワーカースレッドからの加算もロック無しで安全に行える
  */
 public class AffinityData {
-    private double totalAffinityPoints = 0.0;  // 累積親和値（小数対応）
-    private int affinityLevel = 0;             // 現在の親和度
-    private double currentLevelPoints = 0.0;   // 現在のレベルでの親和値（小数対応）
+    // NBTスキーマ
+    private static final byte SCHEMA_VERSION = 2;
+    private static final String NBT_VERSION = "V";
+    private static final String NBT_TOTAL = "T";
+    private static final String LEGACY_NBT_TOTAL = "TotalAffinityPoints";
+    
+    private static final long MICRO = AffinityCurve.MICRO_POINTS_PER_POINT;
+    
+    private static final VarHandle TOTAL_MICRO_POINTS;
+    private static final VarHandle REVISION;
+    
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            TOTAL_MICRO_POINTS = lookup.findVarHandle(AffinityData.class, "totalMicroPoints", long.class);
+            REVISION = lookup.findVarHandle(AffinityData.class, "revision", int.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+    
+    /**
+     * 保存用スナップショット（不変、サーバースレッドではプリミティブのコピーのみ行う）
+     */
+    public record Snapshot(long totalMicroPoints, int revision) {
+        
+        /**
+         * NBTに変換（スキーマv2）
+         */
+        public CompoundTag toNBT() {
+            CompoundTag tag = new CompoundTag();
+            tag.putByte(NBT_VERSION, SCHEMA_VERSION);
+            tag.putLong(NBT_TOTAL, totalMicroPoints);
+            return tag;
+        }
+    }
+    
+    /**
+     * 累積親和値から導出したレベル情報（不変）
+     */
+    private record Resolved(long totalMicroPoints, AffinityCurve curve, int level) {}
+    
+    private volatile long totalMicroPoints = 0L;        // 累積親和値（マイクロ親和値）
+    private volatile int revision = 0;                  // 変更のたびに増加（同期・保存の差分検出用）
+    private volatile Race race = Race.NONE;             // 成長曲線の選択用
+    private volatile UUID owner;                        // ランキング反映用（サーバー側のみ設定）
+    private volatile Resolved resolved = new Resolved(0L, AffinityCurve.DEFAULT, 0); // 導出値キャッシュ
     
     /**
      * 親和値を追加（Minecraft経験値の平方根）
@@ -26,140 +77,194 @@ public class AffinityData {
     }
     
     /**
-     * 親和値を直接追加
+     * 親和値を直接追加（任意のスレッドから呼び出し可能）
      * @param points 追加する親和値
      * @return レベルアップしたかどうか
      */
     public boolean addAffinityPoints(double points) {
-        if (points <= 0.0) return false;
-        
-        this.totalAffinityPoints += points;
-        this.currentLevelPoints += points;
-        
-        return checkLevelUp();
+        if (!(points > 0.0)) return false;
+        return addAffinityMicroPoints(toMicroPoints(points));
     }
     
     /**
-     * レベルアップチェック（MinecraftのXPシステムと同じ）
+     * 親和値をマイクロ親和値単位で追加（任意のスレッドから呼び出し可能）
+     * @return レベルアップしたかどうか
      */
-    private boolean checkLevelUp() {
-        boolean leveledUp = false;
+    public boolean addAffinityMicroPoints(long microPoints) {
+        if (microPoints <= 0L) return false;
         
-        while (this.currentLevelPoints >= getPointsToNextLevel()) {
-            this.currentLevelPoints -= getPointsToNextLevel();
-            this.affinityLevel++;
-            leveledUp = true;
-        }
+        long oldTotal;
+        long newTotal;
+        do {
+            oldTotal = (long) TOTAL_MICRO_POINTS.getVolatile(this);
+            newTotal = saturatedAdd(oldTotal, microPoints);
+        } while (!TOTAL_MICRO_POINTS.compareAndSet(this, oldTotal, newTotal));
         
-        return leveledUp;
+        REVISION.getAndAdd(this, 1);
+        AffinityLeaderboard.onTotalChanged(owner, this);
+        
+        AffinityCurve curve = getCurve();
+        return curve.levelForMicroPoints(newTotal) > curve.levelForMicroPoints(oldTotal);
     }
     
     /**
-     * 次のレベルまでに必要な親和値を計算（MinecraftのXPシステム準拠）
+     * 累積親和値をマイクロ親和値単位で直接設定（オフライン変更の書き戻し用）
      */
-    public int getPointsToNextLevel() {
-        if (affinityLevel >= 30) {
-            return 112 + (affinityLevel - 30) * 9;
-        } else if (affinityLevel >= 15) {
-            return 37 + (affinityLevel - 15) * 5;
-        } else {
-            return 7 + affinityLevel * 2;
+    public void setTotalMicroPoints(long totalMicroPoints) {
+        TOTAL_MICRO_POINTS.setVolatile(this, Math.max(0L, totalMicroPoints));
+        REVISION.getAndAdd(this, 1);
+        AffinityLeaderboard.onTotalChanged(owner, this);
+    }
+    
+    /**
+     * 導出値を取得（累積値・成長曲線が変わっていれば再計算）
+     */
+    private Resolved resolve() {
+        long total = totalMicroPoints;
+        AffinityCurve curve = getCurve();
+        Resolved current = resolved;
+        if (current.totalMicroPoints() != total || current.curve() != curve) {
+            current = new Resolved(total, curve, curve.levelForMicroPoints(total));
+            resolved = current;
         }
+        return current;
     }
     
     /**
-     * 指定レベルの総親和値を計算
+     * 成長曲線の種族を設定（ログイン・種族変更時）
      */
-    public static int getTotalPointsForLevel(int level) {
-        if (level <= 0) return 0;
-        
-        int total = 0;
-        for (int i = 0; i < level; i++) {
-            if (i >= 30) {
-                total += 112 + (i - 30) * 9;
-            } else if (i >= 15) {
-                total += 37 + (i - 15) * 5;
-            } else {
-                total += 7 + i * 2;
-            }
+    public void setRace(Race race) {
+        if (race != null && this.race != race) {
+            this.race = race;
+            REVISION.getAndAdd(this, 1);
         }
-        return total;
+    }
+    
+    public Race getRace() { return race; }
+    
+    /**
+     * 所有プレイヤーを設定し、現在の累積親和値をランキングに反映
+     */
+    public void setOwner(UUID owner) {
+        this.owner = owner;
+        AffinityLeaderboard.onTotalChanged(owner, this);
+    }
+    
+    public UUID getOwner() { return owner; }
+    
+    /**
+     * 現在の成長曲線を取得
+     */
+    public AffinityCurve getCurve() {
+        return AffinityCurves.get(race);
+    }
+    
+    /**
+     * 次のレベルまでに必要な親和値を計算（種族の成長曲線に従う）
+     */
+    public int getPointsToNextLevel() {
+        Resolved current = resolve();
+        return current.curve().pointsToNextLevel(current.level());
+    }
+    
+    /**
+     * 指定レベルの総親和値を計算（種族の成長曲線に従う）
+     */
+    public long getTotalPointsForLevel(int level) {
+        return getCurve().cumulativePoints(level);
     }
     
     // Getters
-    public int getAffinityLevel() { return affinityLevel; }
-    public double getCurrentLevelPoints() { return currentLevelPoints; }
-    public double getTotalAffinityPoints() { return totalAffinityPoints; }
+    public int getAffinityLevel() { return resolve().level(); }
+    public double getTotalAffinityPoints() { return (double) totalMicroPoints / MICRO; }
+    public long getTotalMicroPoints() { return totalMicroPoints; }
+    public int getRevision() { return revision; }
+    
+    /**
+     * 現在のレベルでの親和値
+     */
+    public double getCurrentLevelPoints() {
+        Resolved current = resolve();
+        return (double) current.curve().remainderMicroPoints(current.totalMicroPoints(), current.level()) / MICRO;
+    }
     
     /**
      * 進行度を0.0-1.0で取得
      */
     public double getLevelProgress() {
         int needed = getPointsToNextLevel();
-        return needed > 0 ? currentLevelPoints / needed : 0.0;
+        return needed > 0 ? getCurrentLevelPoints() / needed : 0.0;
     }
     
     /**
-     * NBTに保存（double対応）
+     * 保存用スナップショットを取得（レベル等の導出は行わない）
+     * 累積値より先に更新番号を読むため、スナップショットの累積値は更新番号時点以降の値になる
      */
-    public CompoundTag saveToNBT() {
-        CompoundTag tag = new CompoundTag();
-        tag.putDouble("TotalAffinityPoints", totalAffinityPoints);
-        tag.putInt("AffinityLevel", affinityLevel);
-        tag.putDouble("CurrentLevelPoints", currentLevelPoints);
-        return tag;
+    public Snapshot snapshot() {
+        int currentRevision = revision;
+        return new Snapshot(totalMicroPoints, currentRevision);
     }
     
     /**
-     * NBTから読み込み（double対応）
+     * NBTに保存（スキーマv2: 累積マイクロ親和値のみ）
+     * レベル・現在の親和値は読み込み時に累積値から導出する
      */
-    public void loadFromNBT(CompoundTag tag) {
-        this.totalAffinityPoints = tag.getDouble("TotalAffinityPoints");
-        this.affinityLevel = tag.getInt("AffinityLevel");
-        this.currentLevelPoints = tag.getDouble("CurrentLevelPoints");
-        
-        // データ整合性チェック
-        validateData();
+    public CompoundTag saveToNBT() {
+        return snapshot().toNBT();
     }
     
     /**
-     * データの整合性をチェック・修正（double対応）
+     * NBTから読み込み（旧形式は読み込み時に移行し、次回保存で新形式になる）
      */
-    private void validateData() {
-        // 総親和値から正しいレベルを再計算
-        int correctLevel = 0;
-        double remainingPoints = totalAffinityPoints;
-        
-        while (remainingPoints > 0.0) {
-            int needed = (correctLevel >= 30) ? 112 + (correctLevel - 30) * 9 :
-                         (correctLevel >= 15) ? 37 + (correctLevel - 15) * 5 :
-                         7 + correctLevel * 2;
-            
-            if (remainingPoints >= needed) {
-                remainingPoints -= needed;
-                correctLevel++;
-            } else {
-                break;
+    public void loadFromNBT(CompoundTag tag) {
+        long total;
+        if (tag.contains(NBT_VERSION)) {
+            byte version = tag.getByte(NBT_VERSION);
+            if (version > SCHEMA_VERSION) {
+                ifoe_bravers.LOGGER.warn("Unknown affinity data schema version {} (supported: {})", version, SCHEMA_VERSION);
             }
+            // v1: 累積親和値（double） / v2: 累積マイクロ親和値（long）
+            total = version == 1 ? toMicroPoints(tag.getDouble(NBT_TOTAL)) : tag.getLong(NBT_TOTAL);
+        } else {
+            // 旧形式（スキーマv0）: TotalAffinityPoints / AffinityLevel / CurrentLevelPoints
+            total = toMicroPoints(tag.getDouble(LEGACY_NBT_TOTAL));
         }
         
-        this.affinityLevel = correctLevel;
-        this.currentLevelPoints = remainingPoints;
+        TOTAL_MICRO_POINTS.setVolatile(this, Math.max(0L, total));
+        REVISION.getAndAdd(this, 1);
+        AffinityLeaderboard.onTotalChanged(owner, this);
+    }
+    
+    /**
+     * 親和値をマイクロ親和値に変換（四捨五入）
+     */
+    public static long toMicroPoints(double points) {
+        if (!(points > 0.0)) return 0L;
+        double micro = Math.rint(points * MICRO);
+        return micro >= Long.MAX_VALUE ? Long.MAX_VALUE : (long) micro;
+    }
+    
+    /**
+     * オーバーフローしない加算
+     */
+    private static long saturatedAdd(long a, long b) {
+        long result = a + b;
+        return ((a ^ result) & (b ^ result)) < 0 ? Long.MAX_VALUE : result;
     }
     
     /**
      * 親和値の詳細情報を取得（デバッグ用）
      */
     public String getDetailedInfo() {
-        return String.format("AffinityLevel: %d, Progress: %.3f/%d (%.1f%%), Total: %.3f", 
-                affinityLevel, currentLevelPoints, getPointsToNextLevel(), 
-                getLevelProgress() * 100, totalAffinityPoints);
+        return String.format("AffinityLevel: %d, Progress: %.3f/%d (%.1f%%), Total: %.3f",
+                getAffinityLevel(), getCurrentLevelPoints(), getPointsToNextLevel(),
+                getLevelProgress() * 100, getTotalAffinityPoints());
     }
     
     @Override
     public String toString() {
-        return String.format("AffinityLevel: %d, Progress: %.2f/%d (%.1f%%)", 
-                affinityLevel, currentLevelPoints, getPointsToNextLevel(), 
+        return String.format("AffinityLevel: %d, Progress: %.2f/%d (%.1f%%)",
+                getAffinityLevel(), getCurrentLevelPoints(), getPointsToNextLevel(),
                 getLevelProgress() * 100);
     }
-}
\ No newline at end of file
+}
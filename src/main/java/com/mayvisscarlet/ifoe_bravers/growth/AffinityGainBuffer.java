@@ -0,0 +1,101 @@
+package com.mayvisscarlet.ifoe_bravers.growth;
+
+import net.minecraft.server.level.ServerPlayer;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+
+/**
+ * ティック内の経験値獲得をプレイヤー単位で蓄積するバッファ
+ * XpChangeイベントごとではなくティック終了時に一括で親和値へ反映する
+ * 蓄積はUUID単位で、同じティック内にエンティティが差し替わっても（エンドからの帰還など）失われない
+ * サーバースレッド専用
+ */
+public class AffinityGainBuffer {
+
+    /**
+     * 経験値→親和値の換算方式
+     */
+    public enum XpMode {
+        PER_ORB("per_orb"),   // 経験値獲得ごとに平方根を取り合算（従来方式）
+        SUMMED("summed");     // ティック内の経験値合計の平方根
+
+        private final String id;
+
+        XpMode(String id) {
+            this.id = id;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        /**
+         * IDから換算方式を取得（不明な値は従来方式）
+         */
+        public static XpMode fromId(String id) {
+            for (XpMode mode : values()) {
+                if (mode.id.equalsIgnoreCase(id)) {
+                    return mode;
+                }
+            }
+            return PER_ORB;
+        }
+    }
+
+    /**
+     * 1プレイヤー分の蓄積値
+     */
+    public static class PendingGain {
+        private long totalXp;
+        private double sqrtSum;
+
+        public long getTotalXp() { return totalXp; }
+
+        /**
+         * 換算方式に従って親和値を計算
+         */
+        public double toAffinityPoints(XpMode mode) {
+            return mode == XpMode.SUMMED ? Math.sqrt(totalXp) : sqrtSum;
+        }
+    }
+
+    private static final Map<UUID, PendingGain> PENDING = new HashMap<>();
+
+    /**
+     * 経験値獲得を蓄積
+     */
+    public static void add(ServerPlayer player, int xp) {
+        if (xp <= 0) return;
+
+        PendingGain pending = PENDING.computeIfAbsent(player.getUUID(), id -> new PendingGain());
+        pending.totalXp += xp;
+        pending.sqrtSum += Math.sqrt(xp);
+    }
+
+    /**
+     * 蓄積値が無いか
+     */
+    public static boolean isEmpty() {
+        return PENDING.isEmpty();
+    }
+
+    /**
+     * 蓄積値を全て払い出してバッファを空にする（払い出し先のプレイヤーは呼び出し側がUUIDから解決する）
+     */
+    public static void drain(BiConsumer<UUID, PendingGain> consumer) {
+        for (Map.Entry<UUID, PendingGain> entry : PENDING.entrySet()) {
+            consumer.accept(entry.getKey(), entry.getValue());
+        }
+        PENDING.clear();
+    }
+
+    /**
+     * 指定プレイヤーの蓄積値のみを取り出す（ログアウト時）
+     */
+    public static PendingGain take(UUID playerId) {
+        return PENDING.remove(playerId);
+    }
+}
@@ -0,0 +1,303 @@
+package com.mayvisscarlet.ifoe_bravers.growth;
+
+import com.mayvisscarlet.ifoe_bravers.ifoe_bravers;
+import com.mayvisscarlet.ifoe_bravers.util.MpscRingBuffer;
+import net.minecraft.world.level.storage.LevelResource;
+import net.minecraftforge.event.server.ServerStartedEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 親和度変更の追記専用ジャーナル（監査用）
+ * サーバースレッドはロックフリーのリングバッファに記録を積むだけで、
+ * バックグラウンドの書き込みスレッドがまとめてファイルへ追記する（ティック中にI/Oを行わない）
+ *
+ * ファイル形式: 40バイト固定長レコードの連続
+ * レコード: 時刻ms(8) / UUID上位(8) / UUID下位(8) / 変化量マイクロ親和値(8) / 変更後レベル(4) / 変更元(1) / 予約(3)
+ * 一定サイズを超えるとローテーションする（affinity.journal → affinity.journal.1 → ...）
+ */
+@Mod.EventBusSubscriber(modid = ifoe_bravers.MODID)
+public class AffinityJournal {
+    
+    /**
+     * 変更元
+     */
+    public enum Source {
+        UNKNOWN("unknown"),
+        XP("xp"),
+        COMMAND_ADD("command_add"),
+        COMMAND_RESET("command_reset"),
+        OFFLINE_ADD("offline_add"),
+        OFFLINE_RESET("offline_reset"),
+        OFFLINE_APPLY("offline_apply");
+        
+        private static final Source[] VALUES = values();
+        
+        private final String id;
+        
+        Source(String id) {
+            this.id = id;
+        }
+        
+        public String getId() {
+            return id;
+        }
+        
+        static Source fromOrdinal(int ordinal) {
+            return ordinal >= 0 && ordinal < VALUES.length ? VALUES[ordinal] : UNKNOWN;
+        }
+    }
+    
+    /**
+     * ジャーナルの1記録
+     */
+    public record Entry(long timestamp, UUID playerId, long deltaMicroPoints, Source source, int level) {}
+    
+    private static final String DIRECTORY_NAME = ifoe_bravers.MODID + "_journal";
+    private static final String FILE_NAME = "affinity.journal";
+    private static final int RECORD_SIZE = 40;
+    private static final int BUFFER_CAPACITY = 8192;
+    private static final int BATCH_RECORDS = 512;
+    private static final long MAX_FILE_SIZE = 16L * 1024 * 1024;
+    private static final int MAX_ROTATED_FILES = 4;
+    private static final long IDLE_PARK_NANOS = 50_000_000L;
+    
+    // 現在のサーバーのジャーナル（サーバー停止中はnull）
+    private static volatile AffinityJournal instance;
+    
+    private final Path directory;
+    private final MpscRingBuffer<Entry> buffer = new MpscRingBuffer<>(BUFFER_CAPACITY);
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread writer;
+    private volatile boolean running = true;
+    
+    private AffinityJournal(Path directory) {
+        this.directory = directory;
+        this.writer = new Thread(this::writeLoop, "IfOE Affinity Journal Writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+    
+    // ========================================
+    // ライフサイクル
+    // ========================================
+    
+    @SubscribeEvent
+    public static void onServerStarted(ServerStartedEvent event) {
+        instance = new AffinityJournal(event.getServer().getWorldPath(LevelResource.ROOT).resolve(DIRECTORY_NAME));
+    }
+    
+    /**
+     * サーバー停止時に残りを書き出して終了
+     */
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        AffinityJournal journal = instance;
+        instance = null;
+        if (journal != null) {
+            journal.running = false;
+            LockSupport.unpark(journal.writer);
+            try {
+                journal.writer.join(5000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+    
+    // ========================================
+    // 記録
+    // ========================================
+    
+    /**
+     * 親和度の変更を記録（任意のスレッド、ブロックしない）
+     * バッファが満杯の場合は破棄して件数のみ数える
+     */
+    public static void record(UUID playerId, long deltaMicroPoints, Source source, int level) {
+        AffinityJournal journal = instance;
+        if (journal == null || playerId == null) return;
+        
+        Entry entry = new Entry(System.currentTimeMillis(), playerId, deltaMicroPoints, source, level);
+        if (!journal.buffer.offer(entry)) {
+            journal.dropped.incrementAndGet();
+        }
+    }
+    
+    /**
+     * プレイヤーの直近の履歴を非同期に取得（新しい順）
+     * 書き込み待ちの記録は含まれない場合がある
+     */
+    public static CompletableFuture<List<Entry>> queryRecent(UUID playerId, int limit) {
+        AffinityJournal journal = instance;
+        if (journal == null) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+        return CompletableFuture.supplyAsync(() -> journal.readRecent(playerId, limit));
+    }
+    
+    // ========================================
+    // 書き込みスレッド
+    // ========================================
+    
+    private void writeLoop() {
+        ByteBuffer batch = ByteBuffer.allocateDirect(BATCH_RECORDS * RECORD_SIZE);
+        FileChannel channel = null;
+        try {
+            Files.createDirectories(directory);
+            channel = openCurrent();
+            
+            while (true) {
+                boolean stopping = !running;
+                int written = drainInto(batch);
+                if (written > 0) {
+                    batch.flip();
+                    while (batch.hasRemaining()) {
+                        channel.write(batch);
+                    }
+                    batch.clear();
+                    
+                    if (channel.size() >= MAX_FILE_SIZE) {
+                        channel.close();
+                        rotate();
+                        channel = openCurrent();
+                    }
+                }
+                
+                long droppedCount = dropped.getAndSet(0);
+                if (droppedCount > 0) {
+                    ifoe_bravers.LOGGER.warn("Affinity journal buffer full, dropped {} records", droppedCount);
+                }
+                
+                if (written == BATCH_RECORDS) continue; // まだ残っている可能性がある
+                if (stopping) break;
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        } catch (IOException e) {
+            ifoe_bravers.LOGGER.error("Affinity journal writer stopped: {}", directory, e);
+        } finally {
+            if (channel != null) {
+                try {
+                    channel.force(false);
+                    channel.close();
+                } catch (IOException e) {
+                    ifoe_bravers.LOGGER.error("Failed to close affinity journal: {}", directory, e);
+                }
+            }
+        }
+    }
+    
+    /**
+     * リングバッファから1バッチ分をエンコード
+     */
+    private int drainInto(ByteBuffer batch) {
+        int count = 0;
+        Entry entry;
+        while (count < BATCH_RECORDS && (entry = buffer.poll()) != null) {
+            batch.putLong(entry.timestamp());
+            batch.putLong(entry.playerId().getMostSignificantBits());
+            batch.putLong(entry.playerId().getLeastSignificantBits());
+            batch.putLong(entry.deltaMicroPoints());
+            batch.putInt(entry.level());
+            batch.put((byte) entry.source().ordinal());
+            batch.put((byte) 0).put((byte) 0).put((byte) 0);
+            count++;
+        }
+        return count;
+    }
+    
+    private FileChannel openCurrent() throws IOException {
+        FileChannel channel = FileChannel.open(directory.resolve(FILE_NAME),
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        // 書き込み途中で終了した端数レコードは切り捨てる
+        long size = channel.size();
+        if (size % RECORD_SIZE != 0) {
+            channel.truncate(size - size % RECORD_SIZE);
+        }
+        return channel;
+    }
+    
+    /**
+     * 古いファイルから順にずらし、最も古いものを削除
+     */
+    private void rotate() throws IOException {
+        Files.deleteIfExists(rotatedFile(MAX_ROTATED_FILES));
+        for (int i = MAX_ROTATED_FILES - 1; i >= 1; i--) {
+            Path from = rotatedFile(i);
+            if (Files.exists(from)) {
+                Files.move(from, rotatedFile(i + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        Files.move(directory.resolve(FILE_NAME), rotatedFile(1), StandardCopyOption.REPLACE_EXISTING);
+    }
+    
+    private Path rotatedFile(int index) {
+        return directory.resolve(FILE_NAME + "." + index);
+    }
+    
+    // ========================================
+    // 読み込み
+    // ========================================
+    
+    /**
+     * 古いファイルから順に走査し、指定プレイヤーの直近の記録を集める
+     */
+    private List<Entry> readRecent(UUID playerId, int limit) {
+        Deque<Entry> recent = new ArrayDeque<>(limit);
+        long msb = playerId.getMostSignificantBits();
+        long lsb = playerId.getLeastSignificantBits();
+        
+        List<Path> files = new ArrayList<>();
+        for (int i = MAX_ROTATED_FILES; i >= 1; i--) {
+            files.add(rotatedFile(i));
+        }
+        files.add(directory.resolve(FILE_NAME));
+        
+        ByteBuffer chunk = ByteBuffer.allocate(BATCH_RECORDS * RECORD_SIZE);
+        for (Path file : files) {
+            if (!Files.exists(file)) continue;
+            
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                while (channel.read(chunk) > 0 || chunk.position() > 0) {
+                    chunk.flip();
+                    while (chunk.remaining() >= RECORD_SIZE) {
+                        int start = chunk.position();
+                        if (chunk.getLong(start + 8) == msb && chunk.getLong(start + 16) == lsb) {
+                            if (recent.size() == limit) recent.removeFirst();
+                            recent.addLast(new Entry(chunk.getLong(start), playerId, chunk.getLong(start + 24),
+                                Source.fromOrdinal(chunk.get(start + 36)), chunk.getInt(start + 32)));
+                        }
+                        chunk.position(start + RECORD_SIZE);
+                    }
+                    boolean partial = chunk.hasRemaining();
+                    chunk.compact();
+                    if (partial && channel.position() >= channel.size()) break; // 末尾の端数レコード
+                }
+                chunk.clear();
+            } catch (IOException e) {
+                ifoe_bravers.LOGGER.error("Failed to read affinity journal: {}", file, e);
+            }
+        }
+        
+        List<Entry> result = new ArrayList<>(recent);
+        Collections.reverse(result);
+        return result;
+    }
+}
@@ -0,0 +1,198 @@
+package com.mayvisscarlet.ifoe_bravers.growth;
+
+import com.mayvisscarlet.ifoe_bravers.ifoe_bravers;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.Tag;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.level.saveddata.SavedData;
+import net.minecraftforge.event.server.ServerStartedEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * サーバー全体の親和度ランキング（ワールドのSavedDataとして永続化）
+ * AffinityDataの変更時は対象プレイヤーを記録するだけにし、順位インデックスはティック終了時にまとめて差分更新する
+ * 上位N件・順位の取得でプレイヤーNBTを読み込む必要がない（オフラインプレイヤーも含む）
+ */
+@Mod.EventBusSubscriber(modid = ifoe_bravers.MODID)
+public class AffinityLeaderboard extends SavedData {
+    
+    private static final String DATA_NAME = ifoe_bravers.MODID + "_affinity_leaderboard";
+    private static final String NBT_ENTRIES = "Entries";
+    private static final String NBT_ID = "U";
+    private static final String NBT_NAME = "N";
+    private static final String NBT_TOTAL = "T";
+    
+    // 現在のサーバーのランキング（サーバー停止中はnull）
+    private static volatile AffinityLeaderboard instance;
+    
+    private final AffinityRankIndex index = new AffinityRankIndex();
+    
+    // 累積親和値が変わり、順位の更新を待っているプレイヤー
+    private final Map<UUID, AffinityData> pending = new ConcurrentHashMap<>();
+    
+    /**
+     * サーバー起動完了時にオーバーワールドのデータストレージから読み込み
+     */
+    @SubscribeEvent
+    public static void onServerStarted(ServerStartedEvent event) {
+        MinecraftServer server = event.getServer();
+        instance = server.overworld().getDataStorage()
+            .computeIfAbsent(AffinityLeaderboard::load, AffinityLeaderboard::new, DATA_NAME);
+        ifoe_bravers.LOGGER.info("Affinity leaderboard loaded: {} players", instance.size());
+    }
+    
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        instance = null;
+    }
+    
+    /**
+     * 現在のランキングを取得（サーバー停止中はnull）
+     */
+    public static AffinityLeaderboard get() {
+        return instance;
+    }
+    
+    /**
+     * プレイヤーの親和度データをランキングに紐付け（ログイン・クローン・リセット時）
+     */
+    public static void track(Player player, AffinityData data) {
+        AffinityLeaderboard leaderboard = instance;
+        if (leaderboard != null) {
+            leaderboard.rename(player.getUUID(), player.getGameProfile().getName());
+        }
+        data.setOwner(player.getUUID());
+    }
+    
+    /**
+     * 累積親和値の変更を記録（AffinityDataの更新経路から呼ばれる、任意のスレッド）
+     * 経験値獲得ごとに呼ばれるため、ここではロックも順位の更新も行わない
+     */
+    static void onTotalChanged(UUID playerId, AffinityData data) {
+        AffinityLeaderboard leaderboard = instance;
+        if (leaderboard == null || playerId == null) return;
+        
+        leaderboard.pending.put(playerId, data);
+    }
+    
+    /**
+     * 記録済みの変更を順位に反映（サーバーティック終了時に1回呼び出し）
+     */
+    public static void flushPending() {
+        AffinityLeaderboard leaderboard = instance;
+        if (leaderboard != null) {
+            leaderboard.reindexPending();
+        }
+    }
+    
+    /**
+     * 記録済みのプレイヤーの順位を更新
+     * 記録を消してから最新値を読むため、並行して変更された場合は再び記録され次回に反映される
+     */
+    private void reindexPending() {
+        if (pending.isEmpty()) return;
+        
+        synchronized (this) {
+            Iterator<Map.Entry<UUID, AffinityData>> iterator = pending.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<UUID, AffinityData> entry = iterator.next();
+                iterator.remove();
+                index.update(entry.getKey(), null, entry.getValue().getTotalMicroPoints());
+            }
+            setDirty();
+        }
+    }
+    
+    /**
+     * オフラインプレイヤーの累積親和値を反映（AffinityStore経由の変更）
+     */
+    static void onOfflineChanged(UUID playerId, long totalMicroPoints) {
+        AffinityLeaderboard leaderboard = instance;
+        if (leaderboard == null) return;
+        
+        synchronized (leaderboard) {
+            // ログアウト前の未反映の記録で上書きしないよう破棄
+            leaderboard.pending.remove(playerId);
+            leaderboard.index.update(playerId, null, totalMicroPoints);
+            leaderboard.setDirty();
+        }
+    }
+    
+    private synchronized void rename(UUID playerId, String name) {
+        reindexPending();
+        AffinityRankIndex.Entry entry = index.get(playerId);
+        if (entry == null || !name.equals(entry.name())) {
+            index.update(playerId, name, entry != null ? entry.totalMicroPoints() : 0L);
+            setDirty();
+        }
+    }
+    
+    /**
+     * 上位N件を取得
+     */
+    public synchronized List<AffinityRankIndex.Entry> top(int limit) {
+        reindexPending();
+        return index.top(limit);
+    }
+    
+    /**
+     * 順位を取得（1位始まり、未登録の場合は-1）
+     */
+    public synchronized int rankOf(UUID playerId) {
+        reindexPending();
+        return index.rankOf(playerId);
+    }
+    
+    /**
+     * 項目を取得（未登録の場合はnull）
+     */
+    public synchronized AffinityRankIndex.Entry get(UUID playerId) {
+        reindexPending();
+        return index.get(playerId);
+    }
+    
+    public synchronized int size() {
+        reindexPending();
+        return index.size();
+    }
+    
+    // ========================================
+    // 永続化
+    // ========================================
+    
+    private static AffinityLeaderboard load(CompoundTag tag) {
+        AffinityLeaderboard leaderboard = new AffinityLeaderboard();
+        ListTag entries = tag.getList(NBT_ENTRIES, Tag.TAG_COMPOUND);
+        for (int i = 0; i < entries.size(); i++) {
+            CompoundTag entry = entries.getCompound(i);
+            if (!entry.hasUUID(NBT_ID)) continue;
+            leaderboard.index.update(entry.getUUID(NBT_ID), entry.getString(NBT_NAME), entry.getLong(NBT_TOTAL));
+        }
+        return leaderboard;
+    }
+    
+    @Override
+    public synchronized CompoundTag save(CompoundTag tag) {
+        reindexPending();
+        ListTag entries = new ListTag();
+        for (AffinityRankIndex.Entry entry : index.entries()) {
+            CompoundTag entryTag = new CompoundTag();
+            entryTag.putUUID(NBT_ID, entry.playerId());
+            entryTag.putString(NBT_NAME, entry.name());
+            entryTag.putLong(NBT_TOTAL, entry.totalMicroPoints());
+            entries.add(entryTag);
+        }
+        tag.put(NBT_ENTRIES, entries);
+        return tag;
+    }
+}
@@ -0,0 +1,206 @@
+package com.mayvisscarlet.ifoe_bravers.growth;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 累積親和値の順位インデックス（部分木サイズ付きTreap）
+ * 更新・順位取得はO(log n)、上位N件はO(log n + N)
+ * 並び順は累積親和値の降順、同値はUUID順
+ * スレッドセーフではない（AffinityLeaderboardが同期する）
+ */
+public class AffinityRankIndex {
+    
+    /**
+     * 順位表の1項目
+     */
+    public record Entry(UUID playerId, String name, long totalMicroPoints) {}
+    
+    private static class Node {
+        private final UUID playerId;
+        private final long totalMicroPoints;
+        private final int priority;
+        private String name;
+        private int size = 1;
+        private Node left;
+        private Node right;
+        
+        private Node(UUID playerId, String name, long totalMicroPoints) {
+            this.playerId = playerId;
+            this.name = name;
+            this.totalMicroPoints = totalMicroPoints;
+            this.priority = priorityOf(playerId);
+        }
+    }
+    
+    private final Map<UUID, Node> nodes = new HashMap<>();
+    private Node root;
+    
+    /**
+     * プレイヤーの累積親和値を登録・更新
+     * @param name 名前（nullの場合は既存の名前を維持）
+     */
+    public void update(UUID playerId, String name, long totalMicroPoints) {
+        Node existing = nodes.get(playerId);
+        String resolvedName = name != null ? name : existing != null ? existing.name : playerId.toString();
+        
+        if (existing != null) {
+            if (existing.totalMicroPoints == totalMicroPoints) {
+                existing.name = resolvedName;
+                return;
+            }
+            root = erase(root, existing);
+        }
+        
+        Node node = new Node(playerId, resolvedName, totalMicroPoints);
+        nodes.put(playerId, node);
+        Node[] parts = split(root, node);
+        root = merge(merge(parts[0], node), parts[1]);
+    }
+    
+    /**
+     * 順位を取得（1位始まり、未登録の場合は-1）
+     */
+    public int rankOf(UUID playerId) {
+        Node target = nodes.get(playerId);
+        if (target == null) return -1;
+        
+        int before = 0;
+        Node node = root;
+        while (node != null) {
+            int cmp = compare(target, node);
+            if (cmp == 0) {
+                return before + size(node.left) + 1;
+            }
+            if (cmp < 0) {
+                node = node.left;
+            } else {
+                before += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * 項目を取得（未登録の場合はnull）
+     */
+    public Entry get(UUID playerId) {
+        Node node = nodes.get(playerId);
+        return node != null ? toEntry(node) : null;
+    }
+    
+    /**
+     * 上位N件を取得
+     */
+    public List<Entry> top(int limit) {
+        List<Entry> result = new ArrayList<>(Math.max(0, Math.min(limit, size())));
+        collect(root, limit, result);
+        return result;
+    }
+    
+    /**
+     * 全項目を順位順に取得（保存用）
+     */
+    public List<Entry> entries() {
+        return top(size());
+    }
+    
+    public int size() {
+        return size(root);
+    }
+    
+    // ========================================
+    // Treap操作
+    // ========================================
+    
+    private static void collect(Node node, int limit, List<Entry> result) {
+        if (node == null || result.size() >= limit) return;
+        collect(node.left, limit, result);
+        if (result.size() < limit) {
+            result.add(toEntry(node));
+            collect(node.right, limit, result);
+        }
+    }
+    
+    /**
+     * keyより前（上位）の部分木と、key以降の部分木に分割
+     */
+    private static Node[] split(Node node, Node key) {
+        if (node == null) return new Node[] { null, null };
+        
+        if (compare(node, key) < 0) {
+            Node[] parts = split(node.right, key);
+            node.right = parts[0];
+            updateSize(node);
+            return new Node[] { node, parts[1] };
+        }
+        Node[] parts = split(node.left, key);
+        node.left = parts[1];
+        updateSize(node);
+        return new Node[] { parts[0], node };
+    }
+    
+    private static Node merge(Node left, Node right) {
+        if (left == null) return right;
+        if (right == null) return left;
+        
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            updateSize(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        updateSize(right);
+        return right;
+    }
+    
+    private static Node erase(Node node, Node target) {
+        if (node == null) return null;
+        
+        int cmp = compare(target, node);
+        if (cmp == 0) {
+            return merge(node.left, node.right);
+        }
+        if (cmp < 0) {
+            node.left = erase(node.left, target);
+        } else {
+            node.right = erase(node.right, target);
+        }
+        updateSize(node);
+        return node;
+    }
+    
+    /**
+     * 並び順の比較（累積親和値の降順、同値はUUID順）
+     */
+    private static int compare(Node a, Node b) {
+        int cmp = Long.compare(b.totalMicroPoints, a.totalMicroPoints);
+        return cmp != 0 ? cmp : a.playerId.compareTo(b.playerId);
+    }
+    
+    private static int size(Node node) {
+        return node != null ? node.size : 0;
+    }
+    
+    private static void updateSize(Node node) {
+        node.size = size(node.left) + size(node.right) + 1;
+    }
+    
+    private static Entry toEntry(Node node) {
+        return new Entry(node.playerId, node.name, node.totalMicroPoints);
+    }
+    
+    /**
+     * UUIDから決定的な優先度を生成（乱数状態を持たないため）
+     */
+    private static int priorityOf(UUID playerId) {
+        long h = playerId.getMostSignificantBits() ^ Long.rotateLeft(playerId.getLeastSignificantBits(), 32);
+        h = (h ^ (h >>> 33)) * 0xff51afd7ed558ccdL;
+        h = (h ^ (h >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return (int) (h ^ (h >>> 33));
+    }
+}
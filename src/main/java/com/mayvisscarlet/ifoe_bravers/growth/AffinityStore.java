@@ -0,0 +1,399 @@
+package com.mayvisscarlet.ifoe_bravers.growth;
+
+import com.mayvisscarlet.ifoe_bravers.ifoe_bravers;
+import com.mayvisscarlet.ifoe_bravers.capability.AffinityCapability;
+import com.mayvisscarlet.ifoe_bravers.capability.PlayerHandle;
+import com.mayvisscarlet.ifoe_bravers.race.Race;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.level.storage.LevelResource;
+import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.event.level.LevelEvent;
+import net.minecraftforge.event.server.ServerStartedEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ワールド単位の親和度ストア（固定長レコードのメモリマップファイル）
+ * プレイヤーデータ保存時に累積親和値と種族をミラーし、オフラインプレイヤーの取得・加算・リセットに使う
+ * オフラインプレイヤーのレベルは記録した種族の成長曲線（AffinityCurves）で求める
+ * オフライン中の変更は保留フラグ付きで記録し、次回ログイン時にCapabilityへ書き戻す
+ * UUID→スロットの索引をメモリに持つため、playerdata/*.dat を読まずにO(1)で参照できる
+ * 保存時のミラー書き込みとディスクへの同期は専用のI/Oスレッドで行い、サーバースレッドは値のコピーのみ行う
+ *
+ * ファイル形式: ヘッダー16バイト（magic, version, count, 予約）+ 32バイト/レコード
+ * レコード: UUID上位(8) / UUID下位(8) / 累積マイクロ親和値(8) / フラグ(4) / 種族の序数(4)
+ * バージョン1のファイルは種族の位置が予約（0）のため、種族未記録（Race.NONE）として読む
+ */
+@Mod.EventBusSubscriber(modid = ifoe_bravers.MODID)
+public class AffinityStore {
+    
+    private static final String FILE_NAME = ifoe_bravers.MODID + "_affinity_store.dat";
+    private static final int MAGIC = 0x41465354; // "AFST"
+    private static final int VERSION = 2;
+    
+    private static final int HEADER_SIZE = 16;
+    private static final int RECORD_SIZE = 32;
+    private static final int INITIAL_CAPACITY = 256;
+    
+    // ヘッダー内オフセット
+    private static final int HEADER_MAGIC = 0;
+    private static final int HEADER_VERSION = 4;
+    private static final int HEADER_COUNT = 8;
+    
+    // レコード内オフセット
+    private static final int RECORD_MSB = 0;
+    private static final int RECORD_LSB = 8;
+    private static final int RECORD_TOTAL = 16;
+    private static final int RECORD_FLAGS = 24;
+    private static final int RECORD_RACE = 28;
+    
+    /** オフライン中に変更され、ログイン時の書き戻し待ち */
+    private static final int FLAG_PENDING = 1;
+    
+    // 現在のサーバーのストア（サーバー停止中・オープン失敗時はnull）
+    private static volatile AffinityStore instance;
+    
+    private final Path path;
+    private final FileChannel channel;
+    private final Map<UUID, Integer> slots = new HashMap<>();
+    private final Map<UUID, Mirror> queuedMirrors = new ConcurrentHashMap<>(); // I/Oスレッドへの書き込み待ち（最新値のみ）
+    private final ExecutorService ioExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "IfOE Affinity Store I/O");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private MappedByteBuffer buffer;
+    private int capacity;
+    private int count;
+    
+    /**
+     * ミラーする値（累積マイクロ親和値と種族）
+     */
+    private record Mirror(long totalMicroPoints, Race race) {}
+    
+    private AffinityStore(Path path) throws IOException {
+        this.path = path;
+        Files.createDirectories(path.getParent());
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        
+        long size = channel.size();
+        if (size < HEADER_SIZE) {
+            map(INITIAL_CAPACITY);
+            buffer.putInt(HEADER_MAGIC, MAGIC);
+            buffer.putInt(HEADER_VERSION, VERSION);
+            buffer.putInt(HEADER_COUNT, 0);
+            return;
+        }
+        
+        map((int) Math.max(INITIAL_CAPACITY, (size - HEADER_SIZE) / RECORD_SIZE));
+        if (buffer.getInt(HEADER_MAGIC) != MAGIC) {
+            throw new IOException("Not an affinity store file: " + path);
+        }
+        if (buffer.getInt(HEADER_VERSION) > VERSION) {
+            ifoe_bravers.LOGGER.warn("Unknown affinity store version {} (supported: {})", buffer.getInt(HEADER_VERSION), VERSION);
+        } else {
+            buffer.putInt(HEADER_VERSION, VERSION);
+        }
+        
+        // 索引を構築（レコードの固定長部分のみを走査）
+        count = Math.min(buffer.getInt(HEADER_COUNT), capacity);
+        for (int slot = 0; slot < count; slot++) {
+            int offset = offset(slot);
+            slots.put(new UUID(buffer.getLong(offset + RECORD_MSB), buffer.getLong(offset + RECORD_LSB)), slot);
+        }
+    }
+    
+    /**
+     * 指定レコード数を収められるようにファイルをマップ（拡張時はファイルも伸びる）
+     */
+    private void map(int newCapacity) throws IOException {
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) newCapacity * RECORD_SIZE);
+        capacity = newCapacity;
+    }
+    
+    private static int offset(int slot) {
+        return HEADER_SIZE + slot * RECORD_SIZE;
+    }
+    
+    /**
+     * スロットを取得（未登録の場合は追加）
+     */
+    private int slotFor(UUID playerId) throws IOException {
+        Integer slot = slots.get(playerId);
+        if (slot != null) return slot;
+        
+        if (count >= capacity) {
+            map(capacity * 2);
+        }
+        int newSlot = count++;
+        int offset = offset(newSlot);
+        buffer.putLong(offset + RECORD_MSB, playerId.getMostSignificantBits());
+        buffer.putLong(offset + RECORD_LSB, playerId.getLeastSignificantBits());
+        buffer.putLong(offset + RECORD_TOTAL, 0L);
+        buffer.putInt(offset + RECORD_FLAGS, 0);
+        buffer.putInt(offset + RECORD_RACE, Race.NONE.ordinal());
+        buffer.putInt(HEADER_COUNT, count);
+        slots.put(playerId, newSlot);
+        return newSlot;
+    }
+    
+    // ========================================
+    // ライフサイクル
+    // ========================================
+    
+    @SubscribeEvent
+    public static void onServerStarted(ServerStartedEvent event) {
+        MinecraftServer server = event.getServer();
+        Path path = server.getWorldPath(LevelResource.ROOT).resolve("data").resolve(FILE_NAME);
+        try {
+            instance = new AffinityStore(path);
+            ifoe_bravers.LOGGER.info("Affinity store opened: {} players", instance.count);
+        } catch (IOException e) {
+            ifoe_bravers.LOGGER.error("Failed to open affinity store: {}", path, e);
+            instance = null;
+        }
+    }
+    
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        AffinityStore store = instance;
+        instance = null;
+        if (store != null) {
+            store.close();
+        }
+    }
+    
+    /**
+     * 現在のストアを取得（サーバー停止中・オープン失敗時はnull）
+     */
+    public static AffinityStore get() {
+        return instance;
+    }
+    
+    private void close() {
+        ioExecutor.shutdown();
+        try {
+            ioExecutor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        
+        synchronized (this) {
+            queuedMirrors.keySet().forEach(this::flushQueuedMirror);
+            try {
+                buffer.force();
+                channel.close();
+            } catch (IOException e) {
+                ifoe_bravers.LOGGER.error("Failed to close affinity store: {}", path, e);
+            }
+        }
+    }
+    
+    // ========================================
+    // プレイヤーデータとの連携
+    // ========================================
+    
+    /**
+     * プレイヤーデータ保存時に累積親和値と種族をミラー（書き込みはI/Oスレッドで行う）
+     */
+    @SubscribeEvent
+    public static void onPlayerSaved(PlayerEvent.SaveToFile event) {
+        AffinityStore store = instance;
+        if (store == null) return;
+        
+        Player player = event.getEntity();
+        PlayerHandle handle = PlayerHandle.of(player);
+        if (handle != null) {
+            AffinityData data = handle.getAffinityData();
+            Race race = handle.getRace() != null ? handle.getRace() : data.getRace();
+            store.queueMirror(player.getUUID(), new Mirror(data.snapshot().totalMicroPoints(), race));
+        }
+    }
+    
+    /**
+     * ワールド保存時にマップ済みページのディスク同期をI/Oスレッドで行う
+     */
+    @SubscribeEvent
+    public static void onLevelSaved(LevelEvent.Save event) {
+        AffinityStore store = instance;
+        if (store != null && event.getLevel() instanceof ServerLevel level && level.dimension() == Level.OVERWORLD) {
+            store.submit(store::force);
+        }
+    }
+    
+    /**
+     * ログイン時にオフライン中の変更をCapabilityへ書き戻す
+     */
+    @SubscribeEvent
+    public static void onPlayerLoggedIn(PlayerEvent.PlayerLoggedInEvent event) {
+        AffinityStore store = instance;
+        if (store == null) return;
+        
+        Player player = event.getEntity();
+        OptionalLong pending = store.takePending(player.getUUID());
+        if (pending.isEmpty()) return;
+        
+        AffinityCapability.getAffinityData(player).ifPresent(affinityData -> {
+            AffinityData data = affinityData.getAffinityData();
+            long delta = pending.getAsLong() - data.getTotalMicroPoints();
+            data.setTotalMicroPoints(pending.getAsLong());
+            AffinityJournal.record(player.getUUID(), delta, AffinityJournal.Source.OFFLINE_APPLY, data.getAffinityLevel());
+            ifoe_bravers.LOGGER.info("Applied offline affinity change for {}: Total={}",
+                player.getGameProfile().getName(), affinityData.getAffinityData().getTotalAffinityPoints());
+        });
+    }
+    
+    // ========================================
+    // I/Oスレッド
+    // ========================================
+    
+    /**
+     * ミラー書き込みを予約（同一プレイヤーの連続した保存は最新値にまとめる）
+     */
+    private void queueMirror(UUID playerId, Mirror values) {
+        if (queuedMirrors.put(playerId, values) == null) {
+            submit(() -> flushQueuedMirror(playerId));
+        }
+    }
+    
+    /**
+     * 予約済みのミラー書き込みを反映（同期的な参照・更新の前にも呼び、順序を保つ）
+     */
+    private synchronized void flushQueuedMirror(UUID playerId) {
+        Mirror values = queuedMirrors.remove(playerId);
+        if (values != null) {
+            mirror(playerId, values);
+        }
+    }
+    
+    private synchronized void force() {
+        buffer.force();
+    }
+    
+    private void submit(Runnable task) {
+        try {
+            ioExecutor.execute(task);
+        } catch (RejectedExecutionException e) {
+            task.run(); // 停止処理中は呼び出し元で実行
+        }
+    }
+    
+    // ========================================
+    // 参照・更新
+    // ========================================
+    
+    /**
+     * 累積マイクロ親和値を取得（未登録の場合は空）
+     */
+    public synchronized OptionalLong getTotal(UUID playerId) {
+        flushQueuedMirror(playerId);
+        Integer slot = slots.get(playerId);
+        if (slot == null) return OptionalLong.empty();
+        return OptionalLong.of(buffer.getLong(offset(slot) + RECORD_TOTAL));
+    }
+    
+    /**
+     * 記録されている種族を取得（未登録・種族未記録の場合はRace.NONE）
+     */
+    public synchronized Race getRace(UUID playerId) {
+        flushQueuedMirror(playerId);
+        Integer slot = slots.get(playerId);
+        if (slot == null) return Race.NONE;
+        
+        int ordinal = buffer.getInt(offset(slot) + RECORD_RACE);
+        Race[] races = Race.values();
+        return ordinal >= 0 && ordinal < races.length ? races[ordinal] : Race.NONE;
+    }
+    
+    /**
+     * オンラインプレイヤーの累積値と種族をミラー（保留中の変更がある場合は累積値を上書きしない）
+     */
+    private synchronized void mirror(UUID playerId, Mirror values) {
+        try {
+            int offset = offset(slotFor(playerId));
+            if ((buffer.getInt(offset + RECORD_FLAGS) & FLAG_PENDING) == 0) {
+                buffer.putLong(offset + RECORD_TOTAL, values.totalMicroPoints());
+            }
+            buffer.putInt(offset + RECORD_RACE, values.race().ordinal());
+        } catch (IOException e) {
+            ifoe_bravers.LOGGER.error("Failed to grow affinity store: {}", path, e);
+        }
+    }
+    
+    /**
+     * オフラインプレイヤーに親和値を加算（次回ログイン時に反映、負の値は減算して0未満にはしない）
+     * @return 加算後の累積マイクロ親和値（未登録の場合は空）
+     */
+    public synchronized OptionalLong addOffline(UUID playerId, long microPoints) {
+        flushQueuedMirror(playerId);
+        Integer slot = slots.get(playerId);
+        if (slot == null) return OptionalLong.empty();
+        
+        int offset = offset(slot);
+        long total = buffer.getLong(offset + RECORD_TOTAL);
+        long newTotal;
+        try {
+            newTotal = Math.addExact(total, microPoints);
+        } catch (ArithmeticException e) {
+            newTotal = microPoints > 0 ? Long.MAX_VALUE : Long.MIN_VALUE; // 符号の向きに飽和
+        }
+        newTotal = Math.max(0L, newTotal);
+        writePending(playerId, offset, newTotal);
+        return OptionalLong.of(newTotal);
+    }
+    
+    /**
+     * オフラインプレイヤーの親和度をリセット（次回ログイン時に反映）
+     * @return 登録済みだったかどうか
+     */
+    public synchronized boolean resetOffline(UUID playerId) {
+        flushQueuedMirror(playerId);
+        Integer slot = slots.get(playerId);
+        if (slot == null) return false;
+        
+        writePending(playerId, offset(slot), 0L);
+        return true;
+    }
+    
+    private void writePending(UUID playerId, int offset, long totalMicroPoints) {
+        buffer.putLong(offset + RECORD_TOTAL, totalMicroPoints);
+        buffer.putInt(offset + RECORD_FLAGS, buffer.getInt(offset + RECORD_FLAGS) | FLAG_PENDING);
+        AffinityLeaderboard.onOfflineChanged(playerId, totalMicroPoints);
+    }
+    
+    /**
+     * 保留中の変更を取り出してフラグを解除（保留が無い場合は空）
+     */
+    private synchronized OptionalLong takePending(UUID playerId) {
+        flushQueuedMirror(playerId);
+        Integer slot = slots.get(playerId);
+        if (slot == null) return OptionalLong.empty();
+        
+        int offset = offset(slot);
+        int flags = buffer.getInt(offset + RECORD_FLAGS);
+        if ((flags & FLAG_PENDING) == 0) return OptionalLong.empty();
+        
+        buffer.putInt(offset + RECORD_FLAGS, flags & ~FLAG_PENDING);
+        return OptionalLong.of(buffer.getLong(offset + RECORD_TOTAL));
+    }
+}
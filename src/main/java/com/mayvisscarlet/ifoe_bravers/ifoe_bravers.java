@@ -1,6 +1,7 @@
 package com.mayvisscarlet.ifoe_bravers;
 
 import com.mayvisscarlet.ifoe_bravers.capability.AffinityCapability;
+import com.mayvisscarlet.ifoe_bravers.capability.PlayerHandle;
 import com.mayvisscarlet.ifoe_bravers.commands.AffinityCommand;
 import com.mayvisscarlet.ifoe_bravers.commands.TestCommand;
 import com.mayvisscarlet.ifoe_bravers.config.ConfigInitializer;
@@ -68,6 +69,7 @@ public class ifoe_bravers {
      */
     private void registerCapabilities(final RegisterCapabilitiesEvent event) {
         event.register(AffinityCapability.IAffinityData.class);
+        event.register(PlayerHandle.class);
         LOGGER.info("Affinity capability registered!");
     }
     
@@ -0,0 +1,48 @@
+package com.mayvisscarlet.ifoe_bravers.network;
+
+import com.mayvisscarlet.ifoe_bravers.client.ClientAffinityData;
+import com.mayvisscarlet.ifoe_bravers.growth.AffinityData;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraftforge.network.NetworkEvent;
+
+import java.util.function.Supplier;
+
+/**
+ * 親和度データのサーバー→クライアント同期パケット
+ * レベル（VarInt）・現在の親和値（float）・累積親和値（float）・次レベルまでの必要値（VarInt）のみを送信
+ * 必要値は種族ごとの成長曲線に依存するためサーバー側で解決して送る
+ */
+public class AffinitySyncPacket {
+    private final int affinityLevel;
+    private final float currentLevelPoints;
+    private final float totalAffinityPoints;
+    private final int pointsToNextLevel;
+
+    public AffinitySyncPacket(AffinityData data) {
+        this.affinityLevel = data.getAffinityLevel();
+        this.currentLevelPoints = (float) data.getCurrentLevelPoints();
+        this.totalAffinityPoints = (float) data.getTotalAffinityPoints();
+        this.pointsToNextLevel = data.getPointsToNextLevel();
+    }
+
+    public AffinitySyncPacket(FriendlyByteBuf buf) {
+        this.affinityLevel = buf.readVarInt();
+        this.currentLevelPoints = buf.readFloat();
+        this.totalAffinityPoints = buf.readFloat();
+        this.pointsToNextLevel = buf.readVarInt();
+    }
+
+    public void encode(FriendlyByteBuf buf) {
+        buf.writeVarInt(this.affinityLevel);
+        buf.writeFloat(this.currentLevelPoints);
+        buf.writeFloat(this.totalAffinityPoints);
+        buf.writeVarInt(this.pointsToNextLevel);
+    }
+
+    public void handle(Supplier<NetworkEvent.Context> contextSupplier) {
+        NetworkEvent.Context context = contextSupplier.get();
+        context.enqueueWork(() ->
+            ClientAffinityData.update(affinityLevel, currentLevelPoints, totalAffinityPoints, pointsToNextLevel));
+        context.setPacketHandled(true);
+    }
+}
@@ -0,0 +1,100 @@
+package com.mayvisscarlet.ifoe_bravers.network;
+
+import com.mayvisscarlet.ifoe_bravers.ifoe_bravers;
+import com.mayvisscarlet.ifoe_bravers.capability.PlayerHandle;
+import com.mayvisscarlet.ifoe_bravers.config.ConfigKeys;
+import com.mayvisscarlet.ifoe_bravers.config.ConfigManager;
+import com.mayvisscarlet.ifoe_bravers.growth.AffinityData;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.eventbus.api.EventPriority;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 親和度データの変更検知とクライアント同期
+ * 変更があった場合のみ送信し、レベル変化時以外は一定ティック間隔に制限する
+ * サーバースレッド専用
+ */
+@Mod.EventBusSubscriber(modid = ifoe_bravers.MODID)
+public class AffinitySyncTracker {
+
+    /**
+     * プレイヤーごとの最終送信状態
+     */
+    private static class SyncState {
+        private AffinityData lastData;  // 再生成（リセット・クローン）検知用
+        private int lastRevision = -1;
+        private int lastLevel = -1;
+        private int lastSentTick = Integer.MIN_VALUE / 2;
+    }
+
+    private static final Map<UUID, SyncState> STATES = new HashMap<>();
+
+    /**
+     * ティック終了時に変更のあったプレイヤーへ同期
+     * XP反映（NORMAL優先度）の後に処理するため優先度を下げる
+     */
+    @SubscribeEvent(priority = EventPriority.LOW)
+    public static void onServerTick(TickEvent.ServerTickEvent event) {
+        if (event.phase != TickEvent.Phase.END) return;
+
+        MinecraftServer server = event.getServer();
+        if (server == null) return;
+
+        int tick = server.getTickCount();
+        int interval = Math.max(1, ConfigManager.get(ConfigKeys.Common.AFFINITY_SYNC_INTERVAL_TICKS));
+
+        for (ServerPlayer player : server.getPlayerList().getPlayers()) {
+            PlayerHandle handle = PlayerHandle.of(player);
+            if (handle != null) {
+                syncIfDirty(player, handle.getAffinityData(), tick, interval);
+            }
+        }
+    }
+
+    /**
+     * 変更があり、かつ送信条件を満たす場合のみ送信
+     */
+    private static void syncIfDirty(ServerPlayer player, AffinityData data, int tick, int interval) {
+        SyncState state = STATES.computeIfAbsent(player.getUUID(), id -> new SyncState());
+
+        boolean dataReplaced = state.lastData != data;
+        if (!dataReplaced && state.lastRevision == data.getRevision()) {
+            return; // 変更なし
+        }
+
+        boolean levelChanged = state.lastLevel != data.getAffinityLevel();
+        if (!dataReplaced && !levelChanged && tick - state.lastSentTick < interval) {
+            return; // レート制限中（次の許可ティックでまとめて送信）
+        }
+
+        ModNetworking.sendToPlayer(player, new AffinitySyncPacket(data));
+        state.lastData = data;
+        state.lastRevision = data.getRevision();
+        state.lastLevel = data.getAffinityLevel();
+        state.lastSentTick = tick;
+    }
+
+    /**
+     * ログイン時は次のティックで必ず全量送信
+     */
+    @SubscribeEvent
+    public static void onPlayerLoggedIn(PlayerEvent.PlayerLoggedInEvent event) {
+        STATES.remove(event.getEntity().getUUID());
+    }
+
+    /**
+     * ログアウト時に送信状態を破棄
+     */
+    @SubscribeEvent
+    public static void onPlayerLoggedOut(PlayerEvent.PlayerLoggedOutEvent event) {
+        STATES.remove(event.getEntity().getUUID());
+    }
+}
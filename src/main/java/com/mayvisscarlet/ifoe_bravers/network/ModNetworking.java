@@ -4,12 +4,16 @@ package com.mayvisscarlet.ifoe_bravers.network;
 
 import com.mayvisscarlet.ifoe_bravers.ifoe_bravers;
 import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.Entity;
+import net.minecraftforge.network.NetworkDirection;
 import net.minecraftforge.network.NetworkRegistry;
+import net.minecraftforge.network.PacketDistributor;
 import net.minecraftforge.network.simple.SimpleChannel;
 
 public class ModNetworking {
     
-    private static final String PROTOCOL_VERSION = "1";
+    private static final String PROTOCOL_VERSION = "5";
     
     public static final SimpleChannel INSTANCE = NetworkRegistry.newSimpleChannel(
         new ResourceLocation(ifoe_bravers.MODID, "main"),
@@ -24,7 +28,25 @@ public class ModNetworking {
         INSTANCE.messageBuilder(SkillActivationPacket.class, packetId++)
             .encoder(SkillActivationPacket::encode)
             .decoder(SkillActivationPacket::new)
-            .consumerMainThread(SkillActivationPacket::handle)
+            .consumerNetworkThread(SkillActivationPacket::handle) // 不正なIDはネットワークスレッドで破棄
+            .add();
+        
+        INSTANCE.messageBuilder(AffinitySyncPacket.class, packetId++, NetworkDirection.PLAY_TO_CLIENT)
+            .encoder(AffinitySyncPacket::encode)
+            .decoder(AffinitySyncPacket::new)
+            .consumerNetworkThread(AffinitySyncPacket::handle)
+            .add();
+        
+        INSTANCE.messageBuilder(SkillRegistrySyncPacket.class, packetId++, NetworkDirection.PLAY_TO_CLIENT)
+            .encoder(SkillRegistrySyncPacket::encode)
+            .decoder(SkillRegistrySyncPacket::new)
+            .consumerNetworkThread(SkillRegistrySyncPacket::handle)
+            .add();
+        
+        INSTANCE.messageBuilder(SkillStartedPacket.class, packetId++, NetworkDirection.PLAY_TO_CLIENT)
+            .encoder(SkillStartedPacket::encode)
+            .decoder(SkillStartedPacket::new)
+            .consumerNetworkThread(SkillStartedPacket::handle)
             .add();
         
         ifoe_bravers.LOGGER.info("Registered network packets");
@@ -33,4 +55,15 @@ public class ModNetworking {
     public static void sendToServer(Object packet) {
         INSTANCE.sendToServer(packet);
     }
+    
+    public static void sendToPlayer(ServerPlayer player, Object packet) {
+        INSTANCE.send(PacketDistributor.PLAYER.with(() -> player), packet);
+    }
+    
+    /**
+     * エンティティを追跡中のプレイヤーと本人（プレイヤーの場合）へ送信
+     */
+    public static void sendToTrackingAndSelf(Entity entity, Object packet) {
+        INSTANCE.send(PacketDistributor.TRACKING_ENTITY_AND_SELF.with(() -> entity), packet);
+    }
 }
\ No newline at end of file
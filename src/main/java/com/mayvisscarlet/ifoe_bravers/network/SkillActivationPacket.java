@@ -1,8 +1,9 @@
-
 // === 4. ネットワークパケット ===
 package com.mayvisscarlet.ifoe_bravers.network;
 
-import com.mayvisscarlet.ifoe_bravers.skills.TestFireSkill;
+import com.mayvisscarlet.ifoe_bravers.skills.Skill;
+import com.mayvisscarlet.ifoe_bravers.skills.SkillExecutionManager;
+import com.mayvisscarlet.ifoe_bravers.skills.SkillRegistry;
 import com.mayvisscarlet.ifoe_bravers.race.RaceManager;
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.server.level.ServerPlayer;
@@ -10,37 +11,41 @@ import net.minecraftforge.network.NetworkEvent;
 
 import java.util.function.Supplier;
 
+/**
+ * スキル発動要求（クライアント→サーバー）
+ * スキルはSkillRegistryの整数ID（VarInt）で指定する
+ */
 public class SkillActivationPacket {
-    private final String skillName;
+    private final int skillId;
     
-    public SkillActivationPacket(String skillName) {
-        this.skillName = skillName;
+    public SkillActivationPacket(int skillId) {
+        this.skillId = skillId;
     }
     
     public SkillActivationPacket(FriendlyByteBuf buf) {
-        this.skillName = buf.readUtf();
+        this.skillId = buf.readVarInt();
     }
     
     public void encode(FriendlyByteBuf buf) {
-        buf.writeUtf(this.skillName);
+        buf.writeVarInt(this.skillId);
     }
     
     public void handle(Supplier<NetworkEvent.Context> contextSupplier) {
         NetworkEvent.Context context = contextSupplier.get();
+        Skill skill = SkillRegistry.byId(skillId);
+        if (skill == null) {
+            // 未知のスキル：メインスレッドへ積まずに破棄
+            context.setPacketHandled(true);
+            return;
+        }
+        
         context.enqueueWork(() -> {
             ServerPlayer player = context.getSender();
-            if (player != null && RaceManager.hasAnyRace(player)) {
-                
-                switch (skillName) {
-                    case "test_fire_skill":
-                        TestFireSkill.execute(player);
-                        break;
-                    default:
-                        // 未知のスキル
-                        break;
-                }
+            if (player != null && RaceManager.hasAnyRace(player)
+                    && !SkillExecutionManager.isOnCooldown(player, skill)) {
+                skill.execute(player);
             }
         });
         context.setPacketHandled(true);
     }
-}
\ No newline at end of file
+}
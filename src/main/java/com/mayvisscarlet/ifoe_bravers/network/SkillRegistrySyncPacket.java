@@ -0,0 +1,45 @@
+package com.mayvisscarlet.ifoe_bravers.network;
+
+import com.mayvisscarlet.ifoe_bravers.client.ClientSkillIds;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraftforge.network.NetworkEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * スキルIDの割り当てをサーバー→クライアントへ同期するパケット（ログイン時のみ）
+ * ID順の登録名一覧を送信する
+ */
+public class SkillRegistrySyncPacket {
+    private static final int MAX_SKILLS = 4096;
+    private static final int MAX_NAME_LENGTH = 64;
+    
+    private final List<String> names;
+    
+    public SkillRegistrySyncPacket(List<String> names) {
+        this.names = names;
+    }
+    
+    public SkillRegistrySyncPacket(FriendlyByteBuf buf) {
+        int count = Math.min(buf.readVarInt(), MAX_SKILLS);
+        this.names = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            this.names.add(buf.readUtf(MAX_NAME_LENGTH));
+        }
+    }
+    
+    public void encode(FriendlyByteBuf buf) {
+        buf.writeVarInt(this.names.size());
+        for (String name : this.names) {
+            buf.writeUtf(name, MAX_NAME_LENGTH);
+        }
+    }
+    
+    public void handle(Supplier<NetworkEvent.Context> contextSupplier) {
+        NetworkEvent.Context context = contextSupplier.get();
+        context.enqueueWork(() -> ClientSkillIds.update(names));
+        context.setPacketHandled(true);
+    }
+}
@@ -0,0 +1,58 @@
+package com.mayvisscarlet.ifoe_bravers.network;
+
+import com.mayvisscarlet.ifoe_bravers.client.ClientSkillEffects;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.fml.DistExecutor;
+import net.minecraftforge.network.NetworkEvent;
+
+import java.util.function.Supplier;
+
+/**
+ * スキル発動の通知（サーバー→クライアント、発動1回につき1パケット）
+ * クライアントはシードから効果時間中の演出を決定的に再現する
+ */
+public class SkillStartedPacket {
+    private final int skillId;
+    private final int casterId;     // 発動者のエンティティID
+    private final int startTick;    // 発動時のサーバーティック
+    private final int durationTicks;
+    private final long seed;
+    
+    public SkillStartedPacket(int skillId, int casterId, int startTick, int durationTicks, long seed) {
+        this.skillId = skillId;
+        this.casterId = casterId;
+        this.startTick = startTick;
+        this.durationTicks = durationTicks;
+        this.seed = seed;
+    }
+    
+    public SkillStartedPacket(FriendlyByteBuf buf) {
+        this.skillId = buf.readVarInt();
+        this.casterId = buf.readVarInt();
+        this.startTick = buf.readVarInt();
+        this.durationTicks = buf.readVarInt();
+        this.seed = buf.readLong();
+    }
+    
+    public void encode(FriendlyByteBuf buf) {
+        buf.writeVarInt(this.skillId);
+        buf.writeVarInt(this.casterId);
+        buf.writeVarInt(this.startTick);
+        buf.writeVarInt(this.durationTicks);
+        buf.writeLong(this.seed);
+    }
+    
+    public void handle(Supplier<NetworkEvent.Context> contextSupplier) {
+        NetworkEvent.Context context = contextSupplier.get();
+        context.enqueueWork(() ->
+            DistExecutor.unsafeRunWhenOn(Dist.CLIENT, () -> () -> ClientSkillEffects.start(this)));
+        context.setPacketHandled(true);
+    }
+    
+    public int getSkillId() { return skillId; }
+    public int getCasterId() { return casterId; }
+    public int getStartTick() { return startTick; }
+    public int getDurationTicks() { return durationTicks; }
+    public long getSeed() { return seed; }
+}
@@ -1,165 +1,164 @@
 package com.mayvisscarlet.ifoe_bravers.origins.patricia;
 
+import com.mayvisscarlet.ifoe_bravers.config.ConfigKeys.Patricia;
 import com.mayvisscarlet.ifoe_bravers.config.ConfigManager;
 import com.mayvisscarlet.ifoe_bravers.config.OriginConfig;
 
 /**
  * パトリシア専用設定クラス（完全一元化版）
- * 数値は一切記載せず、ConfigManagerのみがデフォルト値を管理
+ * 数値は一切記載せず、ConfigKeysのみがデフォルト値を管理（取得は型付きキーによる配列参照）
+ * 親和度レベルごとの補正値は生成時にテーブル化し、被ダメージ時の計算は配列の読み込みのみで行う
+ * テーブル上限を超えたレベルは計算式で求める
  */
 public class PatriciaOriginConfig {
     private final OriginConfig baseConfig;
     private static final String ORIGIN_NAME = "patricia";
     
+    /** テーブル化する親和度レベルの上限 */
+    private static final int TABLE_LEVELS = 1024;
+    
+    private final double[] coldDamageReduction;
+    private final double[] fireDamageMultiplier;
+    private final double[] hotDamageIncrease;
+    private final int[] recoveryDuration;
+    private final double[] recoveryIncrease;
+    private final double[] attackSpeedBaseValue;   // 攻撃速度補正の基準値（base_value + level * base_coefficient）
+    
     public PatriciaOriginConfig(OriginConfig config) {
         this.baseConfig = config;
+        
+        this.coldDamageReduction = new double[TABLE_LEVELS + 1];
+        this.fireDamageMultiplier = new double[TABLE_LEVELS + 1];
+        this.hotDamageIncrease = new double[TABLE_LEVELS + 1];
+        this.recoveryDuration = new int[TABLE_LEVELS + 1];
+        this.recoveryIncrease = new double[TABLE_LEVELS + 1];
+        this.attackSpeedBaseValue = new double[TABLE_LEVELS + 1];
+        for (int level = 0; level <= TABLE_LEVELS; level++) {
+            coldDamageReduction[level] = computeColdDamageReduction(level);
+            fireDamageMultiplier[level] = computeFireDamageMultiplier(level);
+            hotDamageIncrease[level] = computeHotDamageIncrease(level);
+            recoveryDuration[level] = computeRecoveryDuration(level);
+            recoveryIncrease[level] = computeRecoveryIncrease(level);
+            attackSpeedBaseValue[level] = computeAttackSpeedBaseValue(level);
+        }
     }
     
+    
     // === 攻撃力計算式 ===
     public double getAffinityAttackCoefficient() {
-        return baseConfig.getDouble("unwavering_winter.attack_power.affinity_coefficient", 
-            getDefaultDouble("unwavering_winter.attack_power.affinity_coefficient"));
+        return baseConfig.get(Patricia.ATTACK_AFFINITY_COEFFICIENT);
     }
     
     public double getBaseCoefficient() {
-        return baseConfig.getDouble("unwavering_winter.attack_power.base_coefficient", 
-            getDefaultDouble("unwavering_winter.attack_power.base_coefficient"));
+        return baseConfig.get(Patricia.ATTACK_BASE_COEFFICIENT);
     }
     
     public double getAttackSpeedMultiplier() {
-        return baseConfig.getDouble("unwavering_winter.attack_power.attack_speed_multiplier", 
-            getDefaultDouble("unwavering_winter.attack_power.attack_speed_multiplier"));
+        return baseConfig.get(Patricia.ATTACK_SPEED_MULTIPLIER);
     }
     
     public double getBaseValue() {
-        return baseConfig.getDouble("unwavering_winter.attack_power.base_value", 
-            getDefaultDouble("unwavering_winter.attack_power.base_value"));
+        return baseConfig.get(Patricia.ATTACK_BASE_VALUE);
     }
     
     // === Cold系バイオーム ===
     public double getColdBaseDamageReduction() {
-        return baseConfig.getDouble("unwavering_winter.cold_biome_benefits.base_damage_reduction", 
-            getDefaultDouble("unwavering_winter.cold_biome_benefits.base_damage_reduction"));
+        return baseConfig.get(Patricia.COLD_BASE_DAMAGE_REDUCTION);
     }
     
     public double getColdAffinityCoefficient() {
-        return baseConfig.getDouble("unwavering_winter.cold_biome_benefits.affinity_coefficient", 
-            getDefaultDouble("unwavering_winter.cold_biome_benefits.affinity_coefficient"));
+        return baseConfig.get(Patricia.COLD_AFFINITY_COEFFICIENT);
     }
     
     public double getColdMaxDamageReduction() {
-        return baseConfig.getDouble("unwavering_winter.cold_biome_benefits.max_damage_reduction", 
-            getDefaultDouble("unwavering_winter.cold_biome_benefits.max_damage_reduction"));
+        return baseConfig.get(Patricia.COLD_MAX_DAMAGE_REDUCTION);
     }
     
     public double getColdTemperatureThreshold() {
-        return baseConfig.getDouble("unwavering_winter.cold_biome_benefits.temperature_threshold", 
-            getDefaultDouble("unwavering_winter.cold_biome_benefits.temperature_threshold"));
+        return baseConfig.get(Patricia.COLD_TEMPERATURE_THRESHOLD);
     }
     
     // === 火炎ダメージ ===
     public double getFireBaseMultiplier() {
-        return baseConfig.getDouble("heat_vulnerability.fire_damage.base_multiplier", 
-            getDefaultDouble("heat_vulnerability.fire_damage.base_multiplier"));
+        return baseConfig.get(Patricia.FIRE_BASE_MULTIPLIER);
     }
     
     public double getFireMinMultiplier() {
-        return baseConfig.getDouble("heat_vulnerability.fire_damage.min_multiplier", 
-            getDefaultDouble("heat_vulnerability.fire_damage.min_multiplier"));
+        return baseConfig.get(Patricia.FIRE_MIN_MULTIPLIER);
     }
     
     public double getFireAffinityReduction() {
-        return baseConfig.getDouble("heat_vulnerability.fire_damage.affinity_reduction", 
-            getDefaultDouble("heat_vulnerability.fire_damage.affinity_reduction"));
+        return baseConfig.get(Patricia.FIRE_AFFINITY_REDUCTION);
     }
     
     // === Hot系バイオーム ===
     public double getHotBaseDamageIncrease() {
-        return baseConfig.getDouble("heat_vulnerability.hot_biome_penalties.base_damage_increase", 
-            getDefaultDouble("heat_vulnerability.hot_biome_penalties.base_damage_increase"));
+        return baseConfig.get(Patricia.HOT_BASE_DAMAGE_INCREASE);
     }
     
     public double getHotAffinityCoefficient() {
-        return baseConfig.getDouble("heat_vulnerability.hot_biome_penalties.affinity_coefficient", 
-            getDefaultDouble("heat_vulnerability.hot_biome_penalties.affinity_coefficient"));
+        return baseConfig.get(Patricia.HOT_AFFINITY_COEFFICIENT);
     }
     
     public double getHotMinDamageIncrease() {
-        return baseConfig.getDouble("heat_vulnerability.hot_biome_penalties.min_damage_increase", 
-            getDefaultDouble("heat_vulnerability.hot_biome_penalties.min_damage_increase"));
+        return baseConfig.get(Patricia.HOT_MIN_DAMAGE_INCREASE);
     }
     
     public double getHotTemperatureThreshold() {
-        return baseConfig.getDouble("heat_vulnerability.hot_biome_penalties.temperature_threshold", 
-            getDefaultDouble("heat_vulnerability.hot_biome_penalties.temperature_threshold"));
+        return baseConfig.get(Patricia.HOT_TEMPERATURE_THRESHOLD);
     }
     
     // === 回復ボーナス ===
     public double getRecoveryBaseDuration() {
-        return baseConfig.getDouble("heat_vulnerability.recovery_bonus.base_duration", 
-            getDefaultDouble("heat_vulnerability.recovery_bonus.base_duration"));
+        return baseConfig.get(Patricia.RECOVERY_BASE_DURATION);
     }
     
     public double getRecoveryDurationCoefficient() {
-        return baseConfig.getDouble("heat_vulnerability.recovery_bonus.duration_coefficient", 
-            getDefaultDouble("heat_vulnerability.recovery_bonus.duration_coefficient"));
+        return baseConfig.get(Patricia.RECOVERY_DURATION_COEFFICIENT);
     }
     
     public double getRecoveryAmountCoefficient() {
-        return baseConfig.getDouble("heat_vulnerability.recovery_bonus.amount_coefficient", 
-            getDefaultDouble("heat_vulnerability.recovery_bonus.amount_coefficient"));
+        return baseConfig.get(Patricia.RECOVERY_AMOUNT_COEFFICIENT);
     }
     
     public double getRecoveryMaxIncrease() {
-        return baseConfig.getDouble("heat_vulnerability.recovery_bonus.max_increase", 
-            getDefaultDouble("heat_vulnerability.recovery_bonus.max_increase"));
+        return baseConfig.get(Patricia.RECOVERY_MAX_INCREASE);
     }
     
     // === マイルストーン ===
     public int getHighAffinityThreshold() {
-        return baseConfig.getInt("growth_system.milestones.high_affinity_threshold", 
-            getDefaultInt("growth_system.milestones.high_affinity_threshold"));
+        return baseConfig.get(Patricia.HIGH_AFFINITY_THRESHOLD);
     }
     
     public int getAdvancedThreshold() {
-        return baseConfig.getInt("growth_system.milestones.advanced_threshold", 
-            getDefaultInt("growth_system.milestones.advanced_threshold"));
+        return baseConfig.get(Patricia.ADVANCED_THRESHOLD);
     }
     
     // === デバッグ設定 ===
     public boolean shouldShowDebugMessages() {
-        return baseConfig.getBoolean("debug.show_passive_messages", 
-            getDefaultBoolean("debug.show_passive_messages"));
+        return baseConfig.get(Patricia.SHOW_PASSIVE_MESSAGES);
     }
     
-    // === デフォルト値取得ヘルパーメソッド ===
+    // === デフォルト値取得ヘルパーメソッド（拡張用の文字列キー向け） ===
     
     private double getDefaultDouble(String key) {
-        Double value = (Double) ConfigManager.getDefaultValue(ORIGIN_NAME, key);
-        if (value == null) {
-            throw new IllegalStateException("No default value found for patricia:" + key);
-        }
-        return value;
+        return ((Number) getDefault(key)).doubleValue();
     }
     
     private int getDefaultInt(String key) {
-        Number value = (Number) ConfigManager.getDefaultValue(ORIGIN_NAME, key);
-        if (value == null) {
-            throw new IllegalStateException("No default value found for patricia:" + key);
-        }
-        return value.intValue();
+        return ((Number) getDefault(key)).intValue();
     }
     
     private boolean getDefaultBoolean(String key) {
-        Boolean value = (Boolean) ConfigManager.getDefaultValue(ORIGIN_NAME, key);
-        if (value == null) {
-            throw new IllegalStateException("No default value found for patricia:" + key);
-        }
-        return value;
+        return (Boolean) getDefault(key);
     }
     
     private String getDefaultString(String key) {
-        String value = (String) ConfigManager.getDefaultValue(ORIGIN_NAME, key);
+        return (String) getDefault(key);
+    }
+    
+    private Object getDefault(String key) {
+        Object value = ConfigManager.getDefaultValue(ORIGIN_NAME, key);
         if (value == null) {
             throw new IllegalStateException("No default value found for patricia:" + key);
         }
@@ -179,7 +178,8 @@ public class PatriciaOriginConfig {
      * 親和度と攻撃速度に基づいた攻撃力補正を計算
      */
     public double calculateAttackSpeedCompensation(int affinityLevel, double currentAttackSpeed) {
-        double baseValue = getBaseValue() + (affinityLevel * getBaseCoefficient());
+        double baseValue = inTable(affinityLevel)
+            ? attackSpeedBaseValue[affinityLevel] : computeAttackSpeedBaseValue(affinityLevel);
         return Math.max(0, (baseValue - currentAttackSpeed) * getAttackSpeedMultiplier());
     }
     
@@ -187,38 +187,73 @@ public class PatriciaOriginConfig {
      * Cold系バイオームでのダメージ軽減率を計算
      */
     public double calculateColdDamageReduction(int affinityLevel) {
-        double reduction = getColdBaseDamageReduction() + (affinityLevel * getColdAffinityCoefficient());
-        return Math.min(getColdMaxDamageReduction(), reduction) / 100.0;
+        return inTable(affinityLevel)
+            ? coldDamageReduction[affinityLevel] : computeColdDamageReduction(affinityLevel);
     }
     
     /**
      * 火炎ダメージの倍率を計算
      */
     public double calculateFireDamageMultiplier(int affinityLevel) {
-        double multiplier = getFireBaseMultiplier() - (affinityLevel * getFireAffinityReduction());
-        return Math.max(getFireMinMultiplier(), multiplier);
+        return inTable(affinityLevel)
+            ? fireDamageMultiplier[affinityLevel] : computeFireDamageMultiplier(affinityLevel);
     }
     
     /**
      * Hot系バイオームでのダメージ増加率を計算
      */
     public double calculateHotDamageIncrease(int affinityLevel) {
-        double increase = getHotBaseDamageIncrease() - (affinityLevel * getHotAffinityCoefficient());
-        return Math.max(getHotMinDamageIncrease(), increase) / 100.0;
+        return inTable(affinityLevel)
+            ? hotDamageIncrease[affinityLevel] : computeHotDamageIncrease(affinityLevel);
     }
     
     /**
      * 回復ボーナスの持続時間を計算（ティック単位）
      */
     public int calculateRecoveryDuration(int affinityLevel) {
-        double seconds = getRecoveryBaseDuration() + (affinityLevel * getRecoveryDurationCoefficient());
-        return (int)(seconds * 20); // 秒をティックに変換
+        return inTable(affinityLevel)
+            ? recoveryDuration[affinityLevel] : computeRecoveryDuration(affinityLevel);
     }
     
     /**
      * 回復ボーナスの増加率を計算
      */
     public double calculateRecoveryIncrease(int affinityLevel) {
+        return inTable(affinityLevel)
+            ? recoveryIncrease[affinityLevel] : computeRecoveryIncrease(affinityLevel);
+    }
+    
+    // === 計算式（テーブル生成・上限超過時に使用） ===
+    
+    private static boolean inTable(int affinityLevel) {
+        return affinityLevel >= 0 && affinityLevel <= TABLE_LEVELS;
+    }
+    
+    private double computeAttackSpeedBaseValue(int affinityLevel) {
+        return getBaseValue() + (affinityLevel * getBaseCoefficient());
+    }
+    
+    private double computeColdDamageReduction(int affinityLevel) {
+        double reduction = getColdBaseDamageReduction() + (affinityLevel * getColdAffinityCoefficient());
+        return Math.min(getColdMaxDamageReduction(), reduction) / 100.0;
+    }
+    
+    private double computeFireDamageMultiplier(int affinityLevel) {
+        double multiplier = getFireBaseMultiplier() - (affinityLevel * getFireAffinityReduction());
+        return Math.max(getFireMinMultiplier(), multiplier);
+    }
+    
+    private double computeHotDamageIncrease(int affinityLevel) {
+        double increase = getHotBaseDamageIncrease() - (affinityLevel * getHotAffinityCoefficient());
+        return Math.max(getHotMinDamageIncrease(), increase) / 100.0;
+    }
+    
+    private int computeRecoveryDuration(int affinityLevel) {
+        double seconds = getRecoveryBaseDuration() + (affinityLevel * getRecoveryDurationCoefficient());
+        return (int)(seconds * 20); // 秒をティックに変換
+    }
+    
+    private double computeRecoveryIncrease(int affinityLevel) {
         double increase = affinityLevel * getRecoveryAmountCoefficient();
         return Math.min(getRecoveryMaxIncrease(), increase) / 100.0;
     }
@@ -255,7 +290,7 @@ public class PatriciaOriginConfig {
      */
     public String getConfigSummary() {
         return String.format("Patricia Config v%s: %s", 
-            baseConfig.version, baseConfig.description);
+            baseConfig.getVersion(), baseConfig.getDescription());
     }
     
     /**
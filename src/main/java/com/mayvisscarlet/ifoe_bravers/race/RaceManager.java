@@ -1,5 +1,7 @@
 package com.mayvisscarlet.ifoe_bravers.race;
 
+import com.mayvisscarlet.ifoe_bravers.capability.AffinityCapability;
+import com.mayvisscarlet.ifoe_bravers.capability.PlayerHandle;
 import net.minecraft.world.entity.player.Player;
 import java.util.Map;
 import java.util.UUID;
@@ -24,11 +26,23 @@ public class RaceManager {
             return Race.NONE;
         }
         
+        // ハンドルに解決済みの種族があればそれを使う（UUID検索を省略）
+        PlayerHandle handle = PlayerHandle.of(player);
+        if (handle != null) {
+            Race cached = handle.getRace();
+            if (cached != null) {
+                return cached;
+            }
+        }
+        
         // 仮実装：最初はパトリシアに設定（テスト用）
         Race race = temporaryRaceMap.get(player.getUUID());
         if (race == null) {
             // TODO: 実装時はRaceCapabilityから取得
-            return Race.PATRICIA; // デフォルトでパトリシア（既存機能テスト用）
+            race = Race.PATRICIA; // デフォルトでパトリシア（既存機能テスト用）
+        }
+        if (handle != null) {
+            handle.setRace(race);
         }
         return race;
     }
@@ -43,6 +57,10 @@ public class RaceManager {
         
         Race oldRace = getCurrentRace(player);
         temporaryRaceMap.put(player.getUUID(), race);
+        PlayerHandle handle = PlayerHandle.of(player);
+        if (handle != null) {
+            handle.setRace(race);
+        }
         
         // TODO: 実装時はRaceCapabilityに保存
         // TODO: 実装時は能力切り替え処理
@@ -56,6 +74,10 @@ public class RaceManager {
     public static void onRaceChanged(Player player, Race oldRace, Race newRace) {
         // TODO: 実装時は能力の適用・除去処理
         
+        // 成長曲線を新しい種族のものに切り替え
+        AffinityCapability.getAffinityData(player).ifPresent(affinityData ->
+            affinityData.getAffinityData().setRace(newRace));
+        
         if (oldRace != newRace) {
             player.sendSystemMessage(
                 net.minecraft.network.chat.Component.literal(
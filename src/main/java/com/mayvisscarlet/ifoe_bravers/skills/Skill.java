@@ -0,0 +1,44 @@
+package com.mayvisscarlet.ifoe_bravers.skills;
+
+import net.minecraft.server.level.ServerPlayer;
+
+/**
+ * スキルの共通インターフェース
+ * SkillRegistryに登録すると整数IDが割り当てられ、パケットではIDで参照される
+ */
+public interface Skill {
+    
+    /**
+     * 登録名（クライアントとのID同期に使用）
+     */
+    String getName();
+    
+    /**
+     * 表示名
+     */
+    String getDisplayName();
+    
+    /**
+     * 効果時間（ティック）
+     */
+    int getDurationTicks();
+    
+    /**
+     * 終了後のクールダウン（ティック、0の場合はなし）
+     */
+    default int getCooldownTicks() {
+        return 0;
+    }
+    
+    /**
+     * スキルを発動（サーバースレッド）
+     */
+    void execute(ServerPlayer player);
+    
+    /**
+     * 実行中の効果処理（毎ティック、サーバースレッド）
+     * 効果時間の管理はSkillExecutionManagerが行い、演出は開始通知を受けたクライアントが再生する
+     */
+    default void tick(ServerPlayer player, SkillExecutionManager.SkillData data) {
+    }
+}
@@ -2,37 +2,84 @@
 package com.mayvisscarlet.ifoe_bravers.skills;
 
 import com.mayvisscarlet.ifoe_bravers.ifoe_bravers;
+import com.mayvisscarlet.ifoe_bravers.capability.PlayerHandle;
+import com.mayvisscarlet.ifoe_bravers.network.ModNetworking;
+import com.mayvisscarlet.ifoe_bravers.network.SkillStartedPacket;
+import com.mayvisscarlet.ifoe_bravers.util.TimingWheel;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.entity.player.Player;
+import net.minecraftforge.server.ServerLifecycleHooks;
 
+import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * スキル実行状態管理
+ * サーバー側の参照はプレイヤーハンドルのフィールドで行い、UUIDマップはクライアント側の判定と一括クリア用に残す
+ * 効果時間とクールダウンはSkillTickSchedulerのタイマーで管理し、毎ティックの減算は行わない
+ */
 public class SkillExecutionManager {
     
     private static final Map<UUID, SkillData> ACTIVE_SKILLS = new ConcurrentHashMap<>();
     
+    // 実行中のスキル数（0の間は判定をマップやハンドルに触れずに返す）
+    private static final AtomicInteger ACTIVE_COUNT = new AtomicInteger();
+    
+    // クールダウン中のスキル（サーバースレッド専用、期限のタイマーで削除）
+    private static final Map<UUID, Map<Skill, TimingWheel.Timer>> COOLDOWNS = new HashMap<>();
+    
     public static class SkillData {
-        private final String skillName;
-        private int remainingTicks;
+        private final Skill skill;
+        private TimingWheel.Timer expiry;
+        private volatile boolean ended;
         
-        public SkillData(String skillName, int durationTicks) {
-            this.skillName = skillName;
-            this.remainingTicks = durationTicks;
+        public SkillData(Skill skill) {
+            this.skill = skill;
         }
         
-        public void decrementDuration() { remainingTicks--; }
-        public boolean isExpired() { return remainingTicks <= 0; }
-        public String getSkillName() { return skillName; }
-        public int getRemainingTicks() { return remainingTicks; }
+        public boolean isEnded() { return ended; }
+        public Skill getSkill() { return skill; }
+        public String getSkillName() { return skill.getDisplayName(); }
+        public int getRemainingTicks() { return expiry != null ? (int) expiry.getRemainingTicks() : 0; }
+        
+        private void markEnded() {
+            ended = true;
+            if (expiry != null) {
+                expiry.cancel();
+            }
+        }
     }
     
     /**
      * スキル実行を開始
      */
-    public static void startSkillExecution(Player player, String skillName, int durationTicks) {
+    public static void startSkillExecution(Player player, Skill skill) {
         UUID playerId = player.getUUID();
-        ACTIVE_SKILLS.put(playerId, new SkillData(skillName, durationTicks));
+        String skillName = skill.getDisplayName();
+        int durationTicks = skill.getDurationTicks();
+        SkillData data = new SkillData(skill);
+        SkillData previous = ACTIVE_SKILLS.put(playerId, data);
+        if (previous != null) {
+            previous.markEnded();
+        } else {
+            ACTIVE_COUNT.incrementAndGet();
+        }
+        data.expiry = SkillTickScheduler.schedule(durationTicks, () -> expire(playerId, data));
+        PlayerHandle handle = PlayerHandle.of(player);
+        if (handle != null) {
+            handle.setActiveSkill(data);
+        }
+        
+        // 演出はクライアントが再生するため、発動時に1回だけ通知する
+        if (player instanceof ServerPlayer serverPlayer) {
+            ModNetworking.sendToTrackingAndSelf(serverPlayer, new SkillStartedPacket(
+                SkillRegistry.getId(skill.getName()), serverPlayer.getId(),
+                serverPlayer.server.getTickCount(), durationTicks, serverPlayer.getRandom().nextLong()));
+        }
         
         ifoe_bravers.LOGGER.info("Started skill execution for {}: {} ({}ticks)", 
             player.getDisplayName().getString(), skillName, durationTicks);
@@ -50,8 +97,15 @@ public class SkillExecutionManager {
     public static void endSkillExecution(Player player) {
         UUID playerId = player.getUUID();
         SkillData data = ACTIVE_SKILLS.remove(playerId);
+        PlayerHandle handle = PlayerHandle.of(player);
+        if (handle != null) {
+            handle.setActiveSkill(null);
+        }
         
         if (data != null) {
+            ACTIVE_COUNT.decrementAndGet();
+            data.markEnded();
+            startCooldown(playerId, data.getSkill());
             ifoe_bravers.LOGGER.info("Ended skill execution for {}: {}", 
                 player.getDisplayName().getString(), data.getSkillName());
             
@@ -64,29 +118,112 @@ public class SkillExecutionManager {
     
     /**
      * スキル実行中かチェック
+     * 誰も実行していない間は件数の読み込みのみで返す（攻撃・設置等の全イベントから呼ばれるため）
      */
     public static boolean isExecutingSkill(Player player) {
-        return ACTIVE_SKILLS.containsKey(player.getUUID());
+        return getCurrentSkill(player) != null;
     }
     
     /**
      * 現在のスキルデータを取得
      */
     public static SkillData getCurrentSkill(Player player) {
+        if (ACTIVE_COUNT.get() == 0) {
+            return null;
+        }
+        if (!player.level().isClientSide) {
+            PlayerHandle handle = PlayerHandle.of(player);
+            if (handle != null) {
+                SkillData data = handle.getActiveSkill();
+                return data != null && !data.isEnded() ? data : null;
+            }
+        }
         return ACTIVE_SKILLS.get(player.getUUID());
     }
     
     /**
-     * スキル実行時間を更新（ティック処理用）
+     * 効果時間の満了（タイマーから呼び出し）
      */
-    public static void updateSkillExecution(Player player) {
-        UUID playerId = player.getUUID();
-        SkillData data = ACTIVE_SKILLS.get(playerId);
+    private static void expire(UUID playerId, SkillData data) {
+        if (ACTIVE_SKILLS.get(playerId) != data) return;
         
-        if (data != null) {
-            data.decrementDuration();
-            if (data.isExpired()) {
-                endSkillExecution(player);
+        MinecraftServer server = ServerLifecycleHooks.getCurrentServer();
+        ServerPlayer player = server != null ? server.getPlayerList().getPlayer(playerId) : null;
+        if (player != null) {
+            endSkillExecution(player);
+        } else if (ACTIVE_SKILLS.remove(playerId, data)) {
+            ACTIVE_COUNT.decrementAndGet();
+            data.markEnded();
+        }
+    }
+    
+    // ========================================
+    // クールダウン
+    // ========================================
+    
+    private static void startCooldown(UUID playerId, Skill skill) {
+        int cooldownTicks = skill.getCooldownTicks();
+        if (cooldownTicks <= 0) return;
+        
+        Map<Skill, TimingWheel.Timer> cooldowns = COOLDOWNS.computeIfAbsent(playerId, id -> new HashMap<>());
+        TimingWheel.Timer previous = cooldowns.put(skill, SkillTickScheduler.schedule(cooldownTicks, () -> {
+            Map<Skill, TimingWheel.Timer> current = COOLDOWNS.get(playerId);
+            if (current != null) {
+                current.remove(skill);
+                if (current.isEmpty()) {
+                    COOLDOWNS.remove(playerId);
+                }
+            }
+        }));
+        if (previous != null) {
+            previous.cancel();
+        }
+    }
+    
+    /**
+     * クールダウン中かチェック
+     */
+    public static boolean isOnCooldown(Player player, Skill skill) {
+        return getCooldownRemaining(player, skill) > 0;
+    }
+    
+    /**
+     * クールダウンの残りティック数（クールダウン中でない場合は0）
+     */
+    public static int getCooldownRemaining(Player player, Skill skill) {
+        Map<Skill, TimingWheel.Timer> cooldowns = COOLDOWNS.get(player.getUUID());
+        TimingWheel.Timer timer = cooldowns != null ? cooldowns.get(skill) : null;
+        return timer != null && timer.isPending() ? (int) timer.getRemainingTicks() : 0;
+    }
+    
+    // ========================================
+    // ティック処理
+    // ========================================
+    
+    /**
+     * 実行中のスキルがあるか
+     */
+    public static boolean hasActiveSkills() {
+        return ACTIVE_COUNT.get() != 0;
+    }
+    
+    /**
+     * 実行中のスキルの効果を1ティック進める（SkillTickSchedulerから呼び出し）
+     * ログアウト済みのプレイヤーの実行状態はここで破棄する
+     */
+    static void tickActiveSkills(MinecraftServer server) {
+        for (Map.Entry<UUID, SkillData> entry : ACTIVE_SKILLS.entrySet()) {
+            SkillData data = entry.getValue();
+            ServerPlayer player = server.getPlayerList().getPlayer(entry.getKey());
+            if (player == null) {
+                if (ACTIVE_SKILLS.remove(entry.getKey(), data)) {
+                    ACTIVE_COUNT.decrementAndGet();
+                    data.markEnded();
+                }
+                continue;
+            }
+            if (!player.isRemoved() && !data.isEnded()) {
+                data.getSkill().tick(player, data);
             }
         }
     }
@@ -95,7 +232,15 @@ public class SkillExecutionManager {
      * 全プレイヤーの状態をクリア（デバッグ用）
      */
     public static void clearAllSkills() {
-        ACTIVE_SKILLS.clear();
+        for (UUID playerId : ACTIVE_SKILLS.keySet()) {
+            SkillData data = ACTIVE_SKILLS.remove(playerId);
+            if (data != null) {
+                ACTIVE_COUNT.decrementAndGet();
+                data.markEnded();
+            }
+        }
+        COOLDOWNS.values().forEach(cooldowns -> cooldowns.values().forEach(TimingWheel.Timer::cancel));
+        COOLDOWNS.clear();
         ifoe_bravers.LOGGER.info("Cleared all skill executions");
     }
 }
\ No newline at end of file
@@ -0,0 +1,86 @@
+package com.mayvisscarlet.ifoe_bravers.skills;
+
+import com.mayvisscarlet.ifoe_bravers.ifoe_bravers;
+import com.mayvisscarlet.ifoe_bravers.network.ModNetworking;
+import com.mayvisscarlet.ifoe_bravers.network.SkillRegistrySyncPacket;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * スキルレジストリ
+ * 登録順に整数IDを割り当て、ID→スキルは配列参照で解決する
+ * ログイン時に登録名の一覧をクライアントへ送り、クライアントは名前からIDを引く
+ */
+@Mod.EventBusSubscriber(modid = ifoe_bravers.MODID)
+public class SkillRegistry {
+    
+    private static final Map<String, Integer> IDS = new HashMap<>();
+    private static volatile Skill[] byId = new Skill[0];
+    
+    static {
+        register(TestFireSkill.INSTANCE);
+    }
+    
+    /**
+     * スキルを登録してIDを返す（登録済みの場合は既存のID）
+     */
+    public static synchronized int register(Skill skill) {
+        Integer existing = IDS.get(skill.getName());
+        if (existing != null) {
+            return existing;
+        }
+        
+        int id = byId.length;
+        Skill[] skills = Arrays.copyOf(byId, id + 1);
+        skills[id] = skill;
+        IDS.put(skill.getName(), id);
+        byId = skills;
+        return id;
+    }
+    
+    /**
+     * IDからスキルを取得（不明なIDの場合はnull）
+     */
+    public static Skill byId(int id) {
+        Skill[] skills = byId;
+        return id >= 0 && id < skills.length ? skills[id] : null;
+    }
+    
+    /**
+     * 登録名からIDを取得（未登録の場合は-1）
+     */
+    public static synchronized int getId(String name) {
+        Integer id = IDS.get(name);
+        return id != null ? id : -1;
+    }
+    
+    /**
+     * ID順の登録名一覧（同期パケット用）
+     */
+    public static List<String> getNames() {
+        Skill[] skills = byId;
+        List<String> names = new ArrayList<>(skills.length);
+        for (Skill skill : skills) {
+            names.add(skill.getName());
+        }
+        return names;
+    }
+    
+    /**
+     * ログイン時にIDの割り当てをクライアントへ同期
+     */
+    @SubscribeEvent
+    public static void onPlayerLoggedIn(PlayerEvent.PlayerLoggedInEvent event) {
+        if (event.getEntity() instanceof ServerPlayer player) {
+            ModNetworking.sendToPlayer(player, new SkillRegistrySyncPacket(getNames()));
+        }
+    }
+}
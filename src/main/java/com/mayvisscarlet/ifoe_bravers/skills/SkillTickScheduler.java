@@ -0,0 +1,62 @@
+package com.mayvisscarlet.ifoe_bravers.skills;
+
+import com.mayvisscarlet.ifoe_bravers.ifoe_bravers;
+import com.mayvisscarlet.ifoe_bravers.util.TimingWheel;
+import net.minecraft.server.MinecraftServer;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.server.ServerStartedEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+/**
+ * スキル効果のティックスケジューラ
+ * サーバーティックごとに実行中のスキルだけを走査する（エンティティ数に依存せず、実行中がなければ何もしない）
+ * 効果時間・クールダウン・遅延効果はサーバーティック基準のタイミングホイールで期限を管理する
+ */
+@Mod.EventBusSubscriber(modid = ifoe_bravers.MODID)
+public class SkillTickScheduler {
+    
+    private static final TimingWheel TIMERS = new TimingWheel();
+    
+    /**
+     * 指定ティック後に処理を実行（サーバースレッド専用）
+     * 戻り値のタイマーで取り消しできる
+     */
+    public static TimingWheel.Timer schedule(int delayTicks, Runnable task) {
+        return TIMERS.schedule(delayTicks, task);
+    }
+    
+    /**
+     * 登録中のタイマー数
+     */
+    public static int getPendingTimers() {
+        return TIMERS.size();
+    }
+    
+    @SubscribeEvent
+    public static void onServerStarted(ServerStartedEvent event) {
+        TIMERS.reset(event.getServer().getTickCount());
+    }
+    
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        SkillExecutionManager.clearAllSkills();
+        TIMERS.reset(0);
+    }
+    
+    @SubscribeEvent
+    public static void onServerTick(TickEvent.ServerTickEvent event) {
+        if (event.phase != TickEvent.Phase.END) return;
+        
+        MinecraftServer server = event.getServer();
+        if (server == null) return;
+        
+        if (SkillExecutionManager.hasActiveSkills()) {
+            SkillExecutionManager.tickActiveSkills(server);
+        }
+        
+        // 期限を迎えたタイマーのみ処理（空の場合は時刻を進めるだけ）
+        TIMERS.advanceTo(server.getTickCount());
+    }
+}
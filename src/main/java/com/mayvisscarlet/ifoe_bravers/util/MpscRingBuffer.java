@@ -0,0 +1,73 @@
+package com.mayvisscarlet.ifoe_bravers.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 固定容量のロックフリーリングバッファ（複数生産者・単一消費者）
+ * スロットごとのシーケンス番号で書き込み完了を判定する（Vyukov方式）
+ * 満杯の場合はofferが待たずにfalseを返す
+ */
+public class MpscRingBuffer<T> {
+    
+    private final int mask;
+    private final AtomicReferenceArray<T> slots;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private long head; // 消費者スレッド専用
+    
+    /**
+     * @param capacity 容量（2の累乗に切り上げる）
+     */
+    public MpscRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.mask = size - 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+    
+    /**
+     * 要素を追加（任意のスレッド、ブロックしない）
+     * @return 追加できたかどうか（満杯の場合はfalse）
+     */
+    public boolean offer(T value) {
+        while (true) {
+            long position = tail.get();
+            int index = (int) (position & mask);
+            long diff = sequences.get(index) - position;
+            if (diff == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots.lazySet(index, value);
+                    sequences.lazySet(index, position + 1);
+                    return true;
+                }
+            } else if (diff < 0) {
+                return false;
+            }
+        }
+    }
+    
+    /**
+     * 要素を取り出す（消費者スレッド専用）
+     * @return 要素（空の場合はnull）
+     */
+    public T poll() {
+        int index = (int) (head & mask);
+        if (sequences.get(index) != head + 1) {
+            return null;
+        }
+        T value = slots.get(index);
+        slots.lazySet(index, null);
+        sequences.lazySet(index, head + mask + 1);
+        head++;
+        return value;
+    }
+    
+    public int capacity() {
+        return mask + 1;
+    }
+}
@@ -0,0 +1,445 @@
+package com.mayvisscarlet.ifoe_bravers.util;
+
+import com.mayvisscarlet.ifoe_bravers.ifoe_bravers;
+import com.mayvisscarlet.ifoe_bravers.capability.AffinityCapability;
+import com.mayvisscarlet.ifoe_bravers.capability.PlayerHandle;
+import com.mayvisscarlet.ifoe_bravers.config.ConfigKey;
+import com.mayvisscarlet.ifoe_bravers.config.ConfigKeys;
+import com.mayvisscarlet.ifoe_bravers.config.ConfigManager;
+import com.mayvisscarlet.ifoe_bravers.config.OriginConfig;
+import com.mayvisscarlet.ifoe_bravers.growth.AffinityCurve;
+import com.mayvisscarlet.ifoe_bravers.network.SkillStartedPacket;
+import com.mayvisscarlet.ifoe_bravers.origins.patricia.PatriciaOriginConfig;
+import com.mayvisscarlet.ifoe_bravers.race.Race;
+import com.mayvisscarlet.ifoe_bravers.skills.SkillExecutionManager;
+import com.mayvisscarlet.ifoe_bravers.skills.TestFireSkill;
+import io.netty.buffer.Unpooled;
+import net.minecraft.core.particles.ParticleTypes;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.network.protocol.game.ClientboundLevelParticlesPacket;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.entity.player.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 簡易マイクロベンチマーク集（デバッグコマンド用）
+ * 旧実装と新実装を同一条件で計測し、結果を行単位で返す
+ */
+public class PerformanceBenchmark {
+
+    private static final int WARMUP_ROUNDS = 3;
+
+    // JITによる計算の除去を防ぐためのシンク
+    private static volatile long sink;
+
+    /**
+     * 計測対象の処理
+     */
+    @FunctionalInterface
+    private interface Workload {
+        long run(int iterations);
+    }
+
+    /**
+     * 親和度曲線：旧ループ実装とテーブル化実装の比較
+     */
+    public static List<String> benchmarkAffinityCurve(int maxLevel, int iterations) {
+        List<String> lines = new ArrayList<>();
+
+        // 正当性チェック（全レベルで旧実装と一致するか）
+        int mismatches = 0;
+        for (int level = 0; level <= maxLevel; level++) {
+            long expectedTotal = legacyTotalPointsForLevel(level);
+            if (AffinityCurve.DEFAULT.cumulativePoints(level) != expectedTotal) {
+                mismatches++;
+            }
+            if (AffinityCurve.DEFAULT.levelForPoints(expectedTotal + 0.5) != legacyLevelForPoints(expectedTotal + 0.5)) {
+                mismatches++;
+            }
+        }
+        lines.add(String.format("Affinity curve check: levels 0-%d, mismatches=%d", maxLevel, mismatches));
+
+        double maxTotal = legacyTotalPointsForLevel(maxLevel);
+
+        Workload legacyResolve = n -> {
+            long acc = 0;
+            for (int i = 0; i < n; i++) {
+                acc += legacyLevelForPoints(maxTotal * i / n);
+            }
+            return acc;
+        };
+        Workload curveResolve = n -> {
+            long acc = 0;
+            for (int i = 0; i < n; i++) {
+                acc += AffinityCurve.DEFAULT.levelForPoints(maxTotal * i / n);
+            }
+            return acc;
+        };
+        Workload legacyCumulative = n -> {
+            long acc = 0;
+            for (int i = 0; i < n; i++) {
+                acc += legacyTotalPointsForLevel(i % (maxLevel + 1));
+            }
+            return acc;
+        };
+        Workload curveCumulative = n -> {
+            long acc = 0;
+            for (int i = 0; i < n; i++) {
+                acc += AffinityCurve.DEFAULT.cumulativePoints(i % (maxLevel + 1));
+            }
+            return acc;
+        };
+
+        lines.add(compare("points->level", legacyResolve, curveResolve, iterations));
+        lines.add(compare("level->points", legacyCumulative, curveCumulative, iterations));
+        return lines;
+    }
+
+    /**
+     * プレイヤー状態の参照：Capability検索＋UUIDマップ2回（旧経路）とプレイヤーハンドルの比較
+     * 1操作 = XPイベント1回分の参照（親和度・種族・実行中スキル）
+     * 新経路はPlayerHandle.of（エンティティをキーとするマップの検索1回）を毎回含めて計測する
+     */
+    public static List<String> benchmarkPlayerLookup(Player player, int iterations) {
+        List<String> lines = new ArrayList<>();
+        
+        PlayerHandle handle = PlayerHandle.of(player);
+        if (handle == null) {
+            lines.add("Player handle not attached");
+            return lines;
+        }
+        
+        lines.add(PlayerHandle.isRegistered(player)
+            ? "Handle path: per-entity map lookup"
+            : "Handle path: capability lookup (player not registered)");
+        
+        // 旧経路のRaceManager・SkillExecutionManagerと同じ構造のマップを再現
+        Map<UUID, Race> raceMap = new ConcurrentHashMap<>();
+        Map<UUID, SkillExecutionManager.SkillData> skillMap = new ConcurrentHashMap<>();
+        raceMap.put(player.getUUID(), Race.PATRICIA);
+        for (int i = 0; i < 64; i++) {
+            raceMap.put(UUID.randomUUID(), Race.PATRICIA); // 他プレイヤー分
+            skillMap.put(UUID.randomUUID(), new SkillExecutionManager.SkillData(TestFireSkill.INSTANCE));
+        }
+        
+        Workload legacy = n -> {
+            long[] acc = new long[1];
+            for (int i = 0; i < n; i++) {
+                AffinityCapability.getAffinityData(player).ifPresent(affinityData ->
+                    acc[0] += affinityData.getAffinityData().getRevision());
+                Race race = raceMap.get(player.getUUID());
+                acc[0] += race != null ? race.ordinal() : 0;
+                acc[0] += skillMap.containsKey(player.getUUID()) ? 1 : 0;
+            }
+            return acc[0];
+        };
+        Workload handled = n -> {
+            long acc = 0;
+            for (int i = 0; i < n; i++) {
+                PlayerHandle h = PlayerHandle.of(player);
+                acc += h.getAffinityData().getRevision();
+                Race race = h.getRace();
+                acc += race != null ? race.ordinal() : 0;
+                acc += h.getActiveSkill() != null ? 1 : 0;
+            }
+            return acc;
+        };
+        
+        lines.add(compare("player state lookup", legacy, handled, iterations));
+        
+        // ハンドルの解決のみ：Capability検索とPlayerHandle.ofの比較
+        Workload capabilityOnly = n -> {
+            long acc = 0;
+            for (int i = 0; i < n; i++) {
+                acc += player.getCapability(PlayerHandle.PLAYER_HANDLE).orElse(null) != null ? 1 : 0;
+            }
+            return acc;
+        };
+        Workload handleOnly = n -> {
+            long acc = 0;
+            for (int i = 0; i < n; i++) {
+                acc += PlayerHandle.of(player) != null ? 1 : 0;
+            }
+            return acc;
+        };
+        lines.add(compare("handle resolve (capability vs of)", capabilityOnly, handleOnly, iterations));
+        return lines;
+    }
+    
+    /**
+     * 期限管理：毎ティック全件を減算する方式とタイミングホイールの比較
+     * 1操作 = タイマー1件の登録から満了まで（期限は1〜maxDelayティックに分散）
+     */
+    public static List<String> benchmarkTimers(int timerCount, int maxDelay) {
+        List<String> lines = new ArrayList<>();
+        
+        int[] delays = new int[timerCount];
+        Random random = new Random(42);
+        for (int i = 0; i < timerCount; i++) {
+            delays[i] = 1 + random.nextInt(maxDelay);
+        }
+        
+        Workload legacy = n -> {
+            int[] remaining = new int[n];
+            for (int i = 0; i < n; i++) {
+                remaining[i] = delays[i % delays.length];
+            }
+            long fired = 0;
+            int active = n;
+            while (active > 0) {
+                // SkillData.remainingTicksと同じく毎ティック全件を減算し、満了分を詰める
+                int kept = 0;
+                for (int i = 0; i < active; i++) {
+                    if (--remaining[i] <= 0) {
+                        fired++;
+                    } else {
+                        remaining[kept++] = remaining[i];
+                    }
+                }
+                active = kept;
+            }
+            return fired;
+        };
+        Workload wheel = n -> {
+            TimingWheel timers = new TimingWheel();
+            long[] fired = new long[1];
+            Runnable task = () -> fired[0]++;
+            for (int i = 0; i < n; i++) {
+                timers.schedule(delays[i % delays.length], task);
+            }
+            long tick = 0;
+            while (!timers.isEmpty()) {
+                timers.advanceTo(++tick);
+            }
+            return fired[0];
+        };
+        
+        lines.add(compare(String.format("timers (max %d ticks)", maxDelay), legacy, wheel, timerCount));
+        return lines;
+    }
+    
+    /**
+     * スキル演出の通信量：パーティクル1個ごとのバニラパケットと発動通知パケットの比較
+     * 実際にエンコードしたサイズから算出（フレーム長・圧縮は両者共通のため含めない）
+     */
+    public static List<String> benchmarkParticleTraffic(int casters, int viewers) {
+        List<String> lines = new ArrayList<>();
+        final int particlesPerTick = 5;
+        final int ticksPerSecond = 20;
+        final int castTicks = 60;
+        
+        // 旧方式：sendParticles 1回につきClientboundLevelParticlesPacketを1つ（+パケットID）
+        FriendlyByteBuf legacyBuf = new FriendlyByteBuf(Unpooled.buffer());
+        new ClientboundLevelParticlesPacket(ParticleTypes.FLAME, false, 100.5, 64.0, -200.5,
+            0, 0, 0, 0.02f, 1).write(legacyBuf);
+        int legacyBytes = legacyBuf.readableBytes() + 1;
+        
+        // 新方式：発動時に1回だけ送るカスタムペイロード（パケットID + チャンネル名 + 識別子 + 本体）
+        // 演出はクライアントが発動通知から再生する
+        FriendlyByteBuf startedBuf = new FriendlyByteBuf(Unpooled.buffer());
+        startedBuf.writeResourceLocation(new ResourceLocation(ifoe_bravers.MODID, "main"));
+        startedBuf.writeByte(0);
+        new SkillStartedPacket(0, 1234, 720_000, castTicks, 0x123456789ABCDEFL).encode(startedBuf);
+        int startedBytes = startedBuf.readableBytes() + 1;
+        
+        // 各発動者が効果時間ごとに発動し続ける想定
+        long legacyPackets = (long) casters * particlesPerTick * viewers * ticksPerSecond;
+        double startedPackets = (double) casters * viewers * ticksPerSecond / castTicks;
+        
+        lines.add(String.format("Scenario: %d casters, %d viewers, %d particles/tick each, %d-tick casts",
+            casters, viewers, particlesPerTick, castTicks));
+        lines.add(String.format("legacy: %d B/packet, %,d packets/s, %,d B/s", legacyBytes, legacyPackets, legacyPackets * legacyBytes));
+        lines.add(String.format("started event: %d B/packet, %,.0f packets/s, %,.0f B/s", startedBytes, startedPackets, startedPackets * startedBytes));
+        lines.add(String.format("per cast and viewer: legacy %d packets / %,d B, started event 1 packet / %d B",
+            castTicks * particlesPerTick, castTicks * particlesPerTick * legacyBytes, startedBytes));
+        lines.add(String.format("reduction: packets x%.1f, bytes x%.1f",
+            legacyPackets / startedPackets, legacyPackets * legacyBytes / (startedPackets * startedBytes)));
+        return lines;
+    }
+    
+    /**
+     * スキル実行中の操作制限：未実行時のイベント1回あたりの判定コスト
+     * 1操作 = SkillExecutionEventHandlerの制限ハンドラ11個分の判定
+     */
+    public static List<String> benchmarkSkillGate(Player player, int iterations) {
+        List<String> lines = new ArrayList<>();
+        final int handlers = 11;
+        
+        if (SkillExecutionManager.hasActiveSkills()) {
+            lines.add("Skills are active; run this with no skill executing to measure the idle path");
+            return lines;
+        }
+        PlayerHandle handle = PlayerHandle.of(player);
+        if (handle == null) {
+            lines.add("Player handle not attached");
+            return lines;
+        }
+        
+        // 旧経路：ハンドラごとにUUIDでACTIVE_SKILLSを検索
+        Map<UUID, SkillExecutionManager.SkillData> skillMap = new ConcurrentHashMap<>();
+        for (int i = 0; i < 64; i++) {
+            skillMap.put(UUID.randomUUID(), new SkillExecutionManager.SkillData(TestFireSkill.INSTANCE));
+        }
+        Workload mapLookup = n -> {
+            long acc = 0;
+            for (int i = 0; i < n; i++) {
+                for (int h = 0; h < handlers; h++) {
+                    acc += skillMap.get(player.getUUID()) != null ? 1 : 0;
+                }
+            }
+            return acc;
+        };
+        // 件数ゲートなし：ハンドル経由で実行中スキルを参照
+        Workload handleLookup = n -> {
+            long acc = 0;
+            for (int i = 0; i < n; i++) {
+                for (int h = 0; h < handlers; h++) {
+                    PlayerHandle current = PlayerHandle.of(player);
+                    SkillExecutionManager.SkillData data = current != null ? current.getActiveSkill() : null;
+                    acc += data != null && !data.isEnded() ? 1 : 0;
+                }
+            }
+            return acc;
+        };
+        // 件数ゲートあり（現行のisExecutingSkill）
+        Workload gated = n -> {
+            long acc = 0;
+            for (int i = 0; i < n; i++) {
+                for (int h = 0; h < handlers; h++) {
+                    acc += SkillExecutionManager.isExecutingSkill(player) ? 1 : 0;
+                }
+            }
+            return acc;
+        };
+        
+        lines.add(compare("idle event (uuid map)", mapLookup, gated, iterations));
+        lines.add(compare("idle event (handle)", handleLookup, gated, iterations));
+        return lines;
+    }
+    
+    /**
+     * パトリシアの補正値：文字列キーで設定を引く計算式とレベル別テーブルの比較
+     * 1操作 = 被ダメージ1回分の補正（Cold軽減・火炎倍率・Hot増加）
+     */
+    public static List<String> benchmarkPatriciaModifiers(int maxLevel, int iterations) {
+        List<String> lines = new ArrayList<>();
+        PatriciaOriginConfig config = ConfigManager.getPatriciaConfig();
+        OriginConfig base = config.getBaseConfig();
+        
+        // 正当性チェック（テーブル上限を超えるレベルも含めて計算式と一致するか）
+        int mismatches = 0;
+        for (int level = 0; level <= maxLevel; level++) {
+            if (config.calculateColdDamageReduction(level) != legacyColdDamageReduction(base, level)) mismatches++;
+            if (config.calculateFireDamageMultiplier(level) != legacyFireDamageMultiplier(base, level)) mismatches++;
+            if (config.calculateHotDamageIncrease(level) != legacyHotDamageIncrease(base, level)) mismatches++;
+        }
+        lines.add(String.format("Patricia modifier check: levels 0-%d, mismatches=%d", maxLevel, mismatches));
+        
+        Workload legacy = n -> {
+            double acc = 0;
+            for (int i = 0; i < n; i++) {
+                int level = i % (maxLevel + 1);
+                acc += legacyColdDamageReduction(base, level)
+                    + legacyFireDamageMultiplier(base, level)
+                    + legacyHotDamageIncrease(base, level);
+            }
+            return (long) acc;
+        };
+        Workload tabled = n -> {
+            double acc = 0;
+            for (int i = 0; i < n; i++) {
+                int level = i % (maxLevel + 1);
+                acc += config.calculateColdDamageReduction(level)
+                    + config.calculateFireDamageMultiplier(level)
+                    + config.calculateHotDamageIncrease(level);
+            }
+            return (long) acc;
+        };
+        
+        lines.add(compare("damage modifiers", legacy, tabled, iterations));
+        return lines;
+    }
+    
+    /**
+     * 2つの処理を計測して比較結果を整形
+     */
+    private static String compare(String label, Workload legacy, Workload optimized, int iterations) {
+        double legacyNs = measure(legacy, iterations);
+        double optimizedNs = measure(optimized, iterations);
+        return String.format("%s: legacy %.1f ns/op, new %.1f ns/op (x%.1f)",
+            label, legacyNs, optimizedNs, optimizedNs > 0 ? legacyNs / optimizedNs : 0.0);
+    }
+
+    /**
+     * ウォームアップ後に1操作あたりの平均時間（ns）を計測
+     */
+    private static double measure(Workload workload, int iterations) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            sink += workload.run(iterations);
+        }
+        long start = System.nanoTime();
+        sink += workload.run(iterations);
+        long elapsed = System.nanoTime() - start;
+        return (double) elapsed / Math.max(1, iterations);
+    }
+
+    // ========================================
+    // 比較用の旧実装（AffinityDataのループ版）
+    // ========================================
+
+    private static int legacyPointsToNextLevel(int level) {
+        return (level >= 30) ? 112 + (level - 30) * 9 :
+               (level >= 15) ? 37 + (level - 15) * 5 :
+               7 + level * 2;
+    }
+
+    private static long legacyTotalPointsForLevel(int level) {
+        long total = 0;
+        for (int i = 0; i < level; i++) {
+            total += legacyPointsToNextLevel(i);
+        }
+        return total;
+    }
+
+    private static int legacyLevelForPoints(double totalPoints) {
+        int level = 0;
+        double remaining = totalPoints;
+        while (remaining >= legacyPointsToNextLevel(level)) {
+            remaining -= legacyPointsToNextLevel(level);
+            level++;
+        }
+        return level;
+    }
+    
+    // ========================================
+    // 比較用の旧実装（PatriciaOriginConfigの文字列キー版）
+    // ========================================
+    
+    private static double legacyValue(OriginConfig config, ConfigKey.DoubleKey key) {
+        return config.getDouble(key.getPath(), key.getDefault());
+    }
+    
+    private static double legacyColdDamageReduction(OriginConfig config, int level) {
+        double reduction = legacyValue(config, ConfigKeys.Patricia.COLD_BASE_DAMAGE_REDUCTION)
+            + (level * legacyValue(config, ConfigKeys.Patricia.COLD_AFFINITY_COEFFICIENT));
+        return Math.min(legacyValue(config, ConfigKeys.Patricia.COLD_MAX_DAMAGE_REDUCTION), reduction) / 100.0;
+    }
+    
+    private static double legacyFireDamageMultiplier(OriginConfig config, int level) {
+        double multiplier = legacyValue(config, ConfigKeys.Patricia.FIRE_BASE_MULTIPLIER)
+            - (level * legacyValue(config, ConfigKeys.Patricia.FIRE_AFFINITY_REDUCTION));
+        return Math.max(legacyValue(config, ConfigKeys.Patricia.FIRE_MIN_MULTIPLIER), multiplier);
+    }
+    
+    private static double legacyHotDamageIncrease(OriginConfig config, int level) {
+        double increase = legacyValue(config, ConfigKeys.Patricia.HOT_BASE_DAMAGE_INCREASE)
+            - (level * legacyValue(config, ConfigKeys.Patricia.HOT_AFFINITY_COEFFICIENT));
+        return Math.max(legacyValue(config, ConfigKeys.Patricia.HOT_MIN_DAMAGE_INCREASE), increase) / 100.0;
+    }
+}
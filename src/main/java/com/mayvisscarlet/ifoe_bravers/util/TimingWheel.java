@@ -0,0 +1,191 @@
+package com.mayvisscarlet.ifoe_bravers.util;
+
+/**
+ * 階層型タイミングホイール（ティック単位のタイマー）
+ * 64スロット×4階層で期限を桁ごとに振り分け、約1677万ティックを超える先のものは溢れリストで待機させる
+ * 登録・取り消しはO(1)、ティック処理はその時点で期限を迎えたタイマーと繰り下げ対象のスロットのみを処理する
+ * スレッドセーフではない（サーバースレッド専用）
+ */
+public class TimingWheel {
+    
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+    private static final long SPAN_MASK = (1L << (SLOT_BITS * LEVELS)) - 1;
+    private static final int OVERFLOW = SLOTS * LEVELS;
+    
+    /**
+     * 登録済みのタイマー（スロット内の双方向リストのノード）
+     */
+    public static final class Timer {
+        private final TimingWheel wheel;
+        private final Runnable task;
+        private final long deadline;
+        private Timer prev;
+        private Timer next;
+        private int bucket = -1; // 未登録・実行済み・取り消し済みの場合は-1
+        
+        private Timer(TimingWheel wheel, long deadline, Runnable task) {
+            this.wheel = wheel;
+            this.deadline = deadline;
+            this.task = task;
+        }
+        
+        /**
+         * 取り消し（実行済み・取り消し済みの場合はfalse）
+         */
+        public boolean cancel() {
+            if (bucket < 0) return false;
+            wheel.unlink(this);
+            wheel.size--;
+            return true;
+        }
+        
+        public boolean isPending() { return bucket >= 0; }
+        public long getDeadline() { return deadline; }
+        
+        /**
+         * 期限までの残りティック数（期限切れの場合は0）
+         */
+        public long getRemainingTicks() {
+            return Math.max(0, deadline - wheel.currentTick);
+        }
+    }
+    
+    private final Timer[] buckets = new Timer[SLOTS * LEVELS + 1];
+    private long currentTick; // 処理済みの最後のティック
+    private int size;
+    
+    // ========================================
+    // 登録
+    // ========================================
+    
+    /**
+     * 指定ティック後に実行するタイマーを登録（1未満は次のティック）
+     */
+    public Timer schedule(long delayTicks, Runnable task) {
+        Timer timer = new Timer(this, currentTick + Math.max(1, delayTicks), task);
+        place(timer, currentTick);
+        size++;
+        return timer;
+    }
+    
+    public long currentTick() { return currentTick; }
+    public int size() { return size; }
+    public boolean isEmpty() { return size == 0; }
+    
+    /**
+     * 全タイマーを破棄して時刻を設定（実行はしない）
+     */
+    public void reset(long tick) {
+        for (int i = 0; i < buckets.length; i++) {
+            Timer timer = buckets[i];
+            buckets[i] = null;
+            while (timer != null) {
+                Timer next = timer.next;
+                timer.prev = timer.next = null;
+                timer.bucket = -1;
+                timer = next;
+            }
+        }
+        size = 0;
+        currentTick = tick;
+    }
+    
+    // ========================================
+    // ティック処理
+    // ========================================
+    
+    /**
+     * 指定ティックまで進め、期限を迎えたタイマーを期限順に実行
+     * 実行中に登録されたタイマーも期限が範囲内であれば同じ呼び出しで実行される
+     */
+    public void advanceTo(long tick) {
+        while (currentTick < tick) {
+            if (size == 0) {
+                currentTick = tick; // 空の場合は走査せずに時刻だけ進める
+                return;
+            }
+            
+            long now = currentTick + 1;
+            if ((now & SLOT_MASK) == 0) {
+                // 下位の桁が一周したら、上位階層の該当スロットを上から順に繰り下げる
+                int top = 1;
+                while (top < LEVELS && digit(now, top) == 0) {
+                    top++;
+                }
+                if (top == LEVELS) {
+                    cascade(OVERFLOW, now);
+                    top--;
+                }
+                for (int level = top; level >= 1; level--) {
+                    cascade(level * SLOTS + digit(now, level), now);
+                }
+            }
+            currentTick = now;
+            
+            // 実行中に登録されるタイマーの期限はnow以降の別スロットになるため、このスロットには入らない
+            int index = digit(now, 0);
+            Timer timer;
+            while ((timer = buckets[index]) != null) {
+                unlink(timer);
+                size--;
+                timer.task.run();
+            }
+        }
+    }
+    
+    // ========================================
+    // 内部処理
+    // ========================================
+    
+    private static int digit(long tick, int level) {
+        return (int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK);
+    }
+    
+    private void cascade(int bucket, long reference) {
+        Timer timer = buckets[bucket];
+        buckets[bucket] = null;
+        while (timer != null) {
+            Timer next = timer.next;
+            timer.prev = timer.next = null;
+            place(timer, reference);
+            timer = next;
+        }
+    }
+    
+    /**
+     * 基準ティックと期限が最初に異なる桁の階層へ追加
+     * 上位の桁が一致する範囲で、その桁が基準に達した時点で繰り下げられる
+     */
+    private void place(Timer timer, long reference) {
+        long deadline = Math.max(timer.deadline, reference);
+        long diff = deadline ^ reference;
+        int bucket;
+        if ((diff & ~SPAN_MASK) != 0) {
+            bucket = OVERFLOW;
+        } else {
+            int level = diff < SLOTS ? 0 : (63 - Long.numberOfLeadingZeros(diff)) / SLOT_BITS;
+            bucket = level * SLOTS + digit(deadline, level);
+        }
+        
+        Timer head = buckets[bucket];
+        timer.prev = null;
+        timer.next = head;
+        if (head != null) head.prev = timer;
+        buckets[bucket] = timer;
+        timer.bucket = bucket;
+    }
+    
+    private void unlink(Timer timer) {
+        if (timer.prev != null) {
+            timer.prev.next = timer.next;
+        } else {
+            buckets[timer.bucket] = timer.next;
+        }
+        if (timer.next != null) timer.next.prev = timer.prev;
+        timer.prev = timer.next = null;
+        timer.bucket = -1;
+    }
+}